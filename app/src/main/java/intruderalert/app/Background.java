@@ -0,0 +1,71 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import processing.core.PShape;
+
+import static processing.core.PApplet.*;
+
+/** Background describes a space background using perlin noise, and star objects:
+*/
+public class Background {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private int pixelSize;
+  private ArrayList<Star> stars;
+  private PShape s; // star
+
+  public Background(IntruderAlert app, int pixelSize, int starNum){
+    this.app = app;
+    this.pixelSize = pixelSize;
+    stars = new ArrayList<Star>();
+
+    // Make star shape:
+    s = app.createShape();
+    double size = 10.00;
+    s.beginShape();
+    s.noStroke();
+    s.colorMode(HSB, 360);
+    s.fill(360);
+    for (int i = 0; i < 8; i++){
+      float angle = i * PI/4;
+      double radius = size/2.00;
+      if (i % 2 == 0) radius /= 5.00;
+      float x = (float)radius*cos(angle);
+      float y = (float)radius*sin(angle);
+      s.vertex(x, y);
+    }
+    s.endShape(CLOSE);
+
+    // Create stars:
+    for (int i = 0; i < starNum; i++){
+      stars.add(new Star(app, app.random(0, app.width), app.random(0, app.height), app.random(2, 8), app.random(0, TWO_PI), app.random(0, 0.5f)));
+    }
+  }
+
+  public void drawBackground(){
+    // Space background using perlin noise:
+    int r = pixelSize/2;
+    float scale = 0.001f;
+    for (int x = r; x <= app.width+r; x += pixelSize){
+      for (int y = r; y <= app.height+r; y += pixelSize){
+        float value = app.noise(x*scale, y*scale, app.frameCount*0.005f);
+        app.fill(250+40*value, 360, 200*constrain(0.75f-value, 0, 1));
+        app.stroke(250+40*value, 360, 200*constrain(0.75f-value, 0, 1));
+        app.rect(x, y, pixelSize, pixelSize);
+      }
+    }
+
+    // Update and draw stars:
+    for (int i = 0; i < stars.size(); i++){
+      Star star = stars.get(i);
+      if (star.expired()){
+        stars.remove(star);
+        i--;
+        stars.add(new Star(app, app.random(0, app.width), app.random(0, app.height), app.random(2, 8), app.random(0, TWO_PI), 0));
+      }
+      else star.drawStar(s);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import intruderalert.core.Explosion;
+import processing.core.PVector;
+
+/**
+ * Blast describes how an explosion looks: a group of blobs moving outwards from a centre point,
+ * coloured from outer to inner.
+ */
+public class Blast {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private ArrayList<Blob> blobs = new ArrayList<Blob>();
+  private long startTick;
+  private int lifeSpan = 120;
+  private float x, y, radius; // circle the blobs stay in
+  private float alpha = 360.0f;
+
+  /** Blast for an explosion in the world (colours depend on what caused it): */
+  public Blast(IntruderAlert app, Explosion e){
+    this(app, new PVector(e.pos().x, e.pos().y), e.size(), inner(app, e), outer(app, e), (int)(e.size()/3.0f));
+  }
+
+  /** Blast with particle number control: */
+  public Blast(IntruderAlert app, PVector pos, float size, int inner, int outer, int blobsNum){
+    this.app = app;
+    this.startTick = app.clock().ticks();
+    float maxSpeed = size/40.0f;
+    float blobSize = size/5.0f;
+    x = pos.x;
+    y = pos.y;
+    radius = maxSpeed*24 + blobSize/2.0f;
+    for (float i = 0.00f; i < blobsNum; i++) blobs.add(new Blob(app, pos.copy(), maxSpeed*((blobsNum-i)/blobsNum), blobSize*(i/blobsNum), app.lerpColor(outer, inner, i/(blobsNum-1.0f))));
+  }
+
+  private static int inner(IntruderAlert app, Explosion e){
+    switch (e.kind()){
+      case EXPLOSIVE: return app.color(60, 360, 360);
+      case CRATE: return app.color(360);
+      case HIT: return app.color(0, 360, 360);
+      default: return app.color(e.hue(), 100, 360);
+    }
+  }
+
+  private static int outer(IntruderAlert app, Explosion e){
+    switch (e.kind()){
+      case EXPLOSIVE: return app.color(0, 360, 360);
+      case CRATE: return app.color(250);
+      case HIT: return app.color(0, 360, 144);
+      default: return app.color(e.hue(), 360, 360);
+    }
+  }
+
+  public float x(){ return x; }
+  public float y(){ return y; }
+  public float radius(){ return radius; }
+
+  /** Moves the blobs, once a tick: */
+  public void updateBlast(){
+    for (Blob b : blobs) b.updateBlob();
+  }
+
+  public boolean finished(){ return (app.clock().ticks() > startTick + lifeSpan); }
+
+  public void drawBlast(){
+    long remainingLifeSpan = lifeSpan - (app.clock().ticks() - startTick);
+    if (remainingLifeSpan <= lifeSpan/5) alpha = 360.00f*(remainingLifeSpan/(lifeSpan/5.00f));
+    for (int i = 0; i < blobs.size(); i++){
+      Blob b = blobs.get(i);
+      b.setAlpha(alpha);
+      b.drawBlob();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package intruderalert.app;
+
+import processing.core.PVector;
+
+import static processing.core.PApplet.*;
+
+/** Used by explosions and splatters.
+* Describes a circle with a velocity that fades over time:
+*/
+public class Blob {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private PVector pos, speed;
+  private float size;
+  private int colour;
+
+  public Blob(IntruderAlert app, PVector pos, float speed, float size, int colour){
+    this.app = app;
+    this.pos = pos;
+    float angle = app.cosmetic().random(0, TWO_PI);
+    this.speed = new PVector(speed*cos(angle), speed*sin(angle));
+    this.size = size;
+    this.colour = colour;
+  }
+
+  public void setColour(int colour){ this.colour = colour; }
+  public void setAlpha(float alpha){ this.colour = app.color(app.hue(colour), app.saturation(colour), app.brightness(colour), alpha); }
+
+  /** Movement and friction, once a tick: */
+  public void updateBlob(){
+    speed.mult(24.0f/25.0f);
+    pos.add(speed);
+  }
+
+  public void drawBlob(){
+    app.noStroke();
+    app.fill(colour);
+    app.ellipse(pos.x, pos.y, size, size);
+  }
+}
@@ -1,20 +1,26 @@
-
-/** Button describes a rectangle that can be clicked by the user:
-*/
-public abstract class Button {
-  
-  protected float x, y, w, h;
-  
-  public float left(){ return x-w/2; }
-  public float right(){ return x+w/2; }
-  public float top(){ return y-h/2; }
-  public float bottom(){ return y+h/2; }
-  
-  public boolean underMouse(){
-    boolean withinX = (left() <= mouseX && mouseX <= right());
-    boolean withinY = (top() <= mouseY && mouseY <= bottom());
-    return (withinX && withinY);
-  }
-  
-  abstract void drawButton();
-}
+package intruderalert.app;
+
+/** Button describes a rectangle that can be clicked by the user:
+*/
+public abstract class Button {
+
+  protected IntruderAlert app;
+  protected float x, y, w, h;
+
+  public Button(IntruderAlert app){
+    this.app = app;
+  }
+
+  public float left(){ return x-w/2; }
+  public float right(){ return x+w/2; }
+  public float top(){ return y-h/2; }
+  public float bottom(){ return y+h/2; }
+
+  public boolean underMouse(){
+    boolean withinX = (left() <= app.mouseX && app.mouseX <= right());
+    boolean withinY = (top() <= app.mouseY && app.mouseY <= bottom());
+    return (withinX && withinY);
+  }
+
+  abstract void drawButton();
+}
@@ -0,0 +1,61 @@
+package intruderalert.app;
+
+import processing.core.PFont;
+import processing.core.PVector;
+
+/** Flying text is the text that flies sideways across the screen:
+*/
+public class FlyingText {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private PVector pos;
+  private PFont font;
+  private int side; // 0 for left, 1 for right
+  private String text;
+  private float hue;
+
+  public FlyingText(IntruderAlert app, String text, int side, float hue){
+    this.app = app;
+    this.font = app.createFont("Rubik-Bold", app.height/5.0f);
+    this.text = text;
+    this.side = side;
+    this.hue = hue;
+    app.textFont(font);
+    if (side == 0){ // from left
+      pos = new PVector(-app.textWidth(text), app.height*2/5);
+    }
+    else { // from right
+      pos = new PVector(app.width+app.textWidth(text), app.height*3/5);
+    }
+  }
+
+  public boolean finished(){
+    app.textFont(font);
+    if (side == 0){
+      return (pos.x > app.width+app.textWidth(text));
+    }
+    else {
+      return (pos.x < -app.textWidth(text));
+    }
+  }
+
+  public void drawFlyingText(){
+    int width = app.width;
+    app.textFont(font);
+    app.fill(hue, 360, 360);
+    float shift = width/500.0f;
+    app.text(text, pos.x+shift, pos.y+shift);
+    app.fill(360);
+    app.text(text, pos.x, pos.y);
+
+    float speed = 50.0f;
+    if (pos.x > width/3.0f && pos.x < width*2.0f/3.0f) speed = 10.0f;
+    if (side == 0){
+      pos.set(pos.x+speed, pos.y);
+    }
+    else {
+      pos.set(pos.x-speed, pos.y);
+    }
+  }
+}
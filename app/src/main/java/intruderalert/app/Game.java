@@ -0,0 +1,330 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import intruderalert.core.BulletPool;
+import intruderalert.core.Character;
+import intruderalert.core.Explosion;
+import intruderalert.core.GunItem;
+import intruderalert.core.Item;
+import intruderalert.core.Level;
+import intruderalert.core.Player;
+import intruderalert.core.World;
+import intruderalert.core.WorldListener;
+import processing.core.PFont;
+import processing.core.PVector;
+
+import static processing.core.PApplet.*;
+
+/**
+ * Game describes the game-state: it plays a World and draws it, with a camera, a UI, and all the effects.
+ */
+public class Game extends State implements WorldListener {
+
+  /** Fields: */
+  private World world;
+  private WorldRenderer renderer;
+  private int nextLevel = -1; // level to start once it has been generated (-1 for none)
+  private boolean showCulling; // 'c' shows how many objects were drawn and culled each frame
+
+  // Camera:
+  private PVector cameraPos;
+  private float zoom;
+  private PVector shift = new PVector(0, 0);
+  private PVector shiftSpeed = new PVector(0, 0);
+  private float shiftMax = 15;
+
+  // Background:
+  private Background background;
+
+  // Splatters / Animations / Explosions:
+  private ArrayList<Splatter> splatters = new ArrayList<Splatter>();
+  private ArrayList<Blast> blasts = new ArrayList<Blast>();
+  private ArrayList<Blast> stationaryBlasts = new ArrayList<Blast>();
+  private ArrayList<FlyingText> flyingText = new ArrayList<FlyingText>();
+
+  // UI:
+  private UI ui;
+
+  // Endscreen:
+  private PFont endFont;
+  private float alpha = 0;
+
+  public Game(IntruderAlert app, float hue){
+    super(app);
+    cameraPos = new PVector(app.width/2, app.height/2);
+    background = new Background(app, (int)(app.width/3.0f), 25);
+    ui = new UI(app);
+    renderer = new WorldRenderer(app);
+    endFont = app.createFont("Rubik-Bold", app.width/10);
+
+    // Create world (and the first level):
+    world = new World(hue, this, app.runSeed(), app.levelCache());
+    app.setCosmetic(world.cosmeticRandom());
+    levelStarted();
+  }
+
+  /** Starts level i now if it has been generated, or once it has been (showing progress until then): */
+  public void setLevel(int i){
+    if (i < 0 || i >= world.numOfLevels()) return;
+    if (world.levelReady(i)){
+      nextLevel = -1;
+      if (world.setLevel(i)) levelStarted();
+    }
+    else {
+      world.prepareLevel(i);
+      nextLevel = i;
+    }
+  }
+
+  /** Resets the camera and effects for the world's current level: */
+  public void levelStarted(){
+    splatters.clear();
+    blasts.clear();
+    stationaryBlasts.clear();
+    zoom = 0.5f; // zoom out
+    showFlyingText("Level", ""+(world.level().num()+1), 0);
+  }
+
+  /** Replaces the flying text with two new lines: */
+  public void showFlyingText(String left, String right, float hue){
+    flyingText.clear();
+    flyingText.add(new FlyingText(app, left, 0, hue));
+    flyingText.add(new FlyingText(app, right, 1, hue));
+  }
+
+  /** World events: */
+
+  public void explosion(Explosion e){
+    blasts.add(new Blast(app, e));
+  }
+
+  public void killed(Character c){
+    splatters.add(new Splatter(app, c.x(), c.y()));
+  }
+
+  public void shake(float amount){
+    shift.add(amount*app.cosmetic().random(-shiftMax, shiftMax), amount*app.cosmetic().random(-shiftMax, shiftMax));
+  }
+
+  public void levelCompleted(Level level, boolean gameFinished){
+    PVector centre = new PVector(app.width/2.0f, app.height/2.0f);
+    if (gameFinished){
+      stationaryBlasts.add(new Blast(app, centre, app.width/2.0f, app.color(45, 100, 360), app.color(45, 360, 360), 50));
+      showFlyingText("Congratulations", "You Win!", 45);
+    }
+    else {
+      float hue = world.player().realHue();
+      stationaryBlasts.add(new Blast(app, centre, app.width/2.0f, app.color(hue, 100, 360), app.color(hue, 360, 360), 50));
+      showFlyingText("Level "+(level.num()+1), "Complete", 225);
+    }
+  }
+
+  public void mouseP(){
+    if (app.mouseButton == LEFT) world.setControl("ml", true);
+    else if (app.mouseButton == RIGHT) world.setControl("mr", true);
+  }
+  public void mouseR(){
+    if (app.mouseButton == LEFT) world.setControl("ml", false);
+    else if (app.mouseButton == RIGHT) world.setControl("mr", false);
+  }
+  public void keyP(){
+    char key = app.key;
+    int keyCode = app.keyCode;
+    if (key == 'w' || key == 'W') world.setControl("u", true);
+    else if (key == 'a' || key == 'A') world.setControl("l", true);
+    else if (key == 's' || key == 'S') world.setControl("d", true);
+    else if (key == 'd' || key == 'D') world.setControl("r", true);
+    else if (keyCode == RIGHT) world.setControl("0", true);
+    else if (keyCode == DOWN) world.setControl("1", true);
+    else if (keyCode == LEFT) world.setControl("2", true);
+    else if (keyCode == UP) world.setControl("3", true);
+
+    else if (key == 'o' || key == 'O') setLevel(world.level().num()-1);
+    else if (key == 'p' || key == 'P') setLevel(world.level().num()+1);
+    else if (key == 'c' || key == 'C') showCulling = !showCulling;
+
+    else if (key == ' '){
+      if (world.gameOver() || world.gameFinished()) app.setState(new Menu(app));
+      else if (world.closestGun() != null) world.swapGun();
+      else if (world.levelCompleted()) setLevel(world.level().num()+1);
+    }
+  }
+  public void keyR(){
+    char key = app.key;
+    int keyCode = app.keyCode;
+    if (key == 'w' || key == 'W') world.setControl("u", false);
+    else if (key == 'a' || key == 'A') world.setControl("l", false);
+    else if (key == 's' || key == 'S') world.setControl("d", false);
+    else if (key == 'd' || key == 'D') world.setControl("r", false);
+    else if (keyCode == RIGHT) world.setControl("0", false);
+    else if (keyCode == DOWN) world.setControl("1", false);
+    else if (keyCode == LEFT) world.setControl("2", false);
+    else if (keyCode == UP) world.setControl("3", false);
+  }
+
+  public void updateState(){
+    // Aim at the mouse (player is always at the centre of the screen):
+    world.setAim(atan2(app.mouseY-app.height/2.0f, app.mouseX-app.width/2.0f));
+    world.update();
+    if (nextLevel >= 0 && world.levelReady(nextLevel)) setLevel(nextLevel);
+
+    // Move effects along and remove finished ones (their lifetimes are counted in ticks):
+    for (int i = 0; i < splatters.size(); i++){
+      if (splatters.get(i).finished()) splatters.remove(i--);
+      else splatters.get(i).updateSplatter();
+    }
+    for (int i = 0; i < blasts.size(); i++){
+      if (blasts.get(i).finished()) blasts.remove(i--);
+      else blasts.get(i).updateBlast();
+    }
+    for (int i = 0; i < stationaryBlasts.size(); i++){
+      if (stationaryBlasts.get(i).finished()) stationaryBlasts.remove(i--);
+      else stationaryBlasts.get(i).updateBlast();
+    }
+  }
+
+  public void drawState(){
+    int width = app.width;
+    int height = app.height;
+    Player player = world.player();
+    Level level = world.level();
+    boolean gameOver = world.gameOver();
+
+    // Space background:
+    background.drawBackground();
+
+    // Camera start:
+    float defaultZoom = 1.5f;
+    float cameraEasing = 0.07f;
+    zoom += (defaultZoom-zoom)/100.0f;
+
+    app.pushMatrix();
+    app.translate(player.x(), player.y());
+    app.scale(zoom, zoom);
+    app.translate(-player.x(), -player.y());
+    cameraPos.add(shift);
+    float x = cameraPos.x;
+    float y = cameraPos.y;
+    float dx = player.x() - x;
+    float dy = player.y() - y;
+    x += dx * cameraEasing;
+    y += dy * cameraEasing;
+    app.translate((width/2 - x)/zoom, (height/2 - y)/zoom);
+    float viewLeft = player.x() + (x - player.x() - width/2)/zoom; // world point at the screen's top-left
+    float viewTop = player.y() + (y - player.y() - height/2)/zoom;
+    renderer.setView(viewLeft, viewTop, viewLeft + width/zoom, viewTop + height/zoom);
+    cameraPos.sub(shift);
+    cameraPos.set(x, y);
+
+    // Draw tiles:
+    renderer.drawTiles(level);
+
+    // Draw blood splatters (in view):
+    for (Splatter s : splatters){
+      if (renderer.inView(s.x(), s.y(), 2*s.radius(), 2*s.radius())) s.drawSplatter();
+    }
+
+    // Draw walls and crates:
+    renderer.drawCrates(level);
+    renderer.drawWalls(level);
+
+    // Draw items:
+    for (Item item : world.items()) renderer.drawItem(item);
+
+    // Draw characters:
+    renderer.drawCharacters(world, gameOver);
+
+    // Draw projectiles:
+    BulletPool bullets = world.bullets();
+    for (int i = 0; i < bullets.size(); i++) renderer.drawBullet(bullets, i);
+
+    // Draw explosions (in view):
+    for (Blast b : blasts){
+      if (renderer.inView(b.x(), b.y(), 2*b.radius(), 2*b.radius())) b.drawBlast();
+    }
+
+    // Camera end:
+    app.popMatrix();
+
+    // Update screen shift:
+    shiftSpeed.sub(shift.x/5.0f, shift.y/5.0f);
+    shift.add(shiftSpeed);
+    shiftSpeed.mult(0.75f);
+
+    // Draw UI:
+    ui.drawHealthBar(player.health(), player.maxHealth());
+    ui.drawMinimap(level, player.pos(), gameOver);
+    ui.drawGun(player.equippedGun());
+    if (showCulling) ui.drawStats("Drawn: "+renderer.drawn()+"  Culled: "+renderer.culled()+"  Tile chunks: "+renderer.chunksDrawn()+" ("+renderer.chunksMade()+" made, "+renderer.chunksKept()+" kept)");
+    GunItem closestGun = world.closestGun();
+    if (nextLevel >= 0){
+      String text = "Generating level "+(nextLevel+1)+"... "+(int)(100*world.levelProgress(nextLevel))+"%";
+      ui.drawPrompt(text);
+    }
+    else if (closestGun != null){
+      String text = "Press SPACE to pick up "+closestGun.gun().name()+".";
+      ui.drawPrompt(text);
+    }
+    else if (world.levelCompleted()){
+      String text;
+      if (world.gameFinished()) text = "Congratulations! You have won! Press SPACE to continue.";
+      else text = "Level completed: Press SPACE to continue...";
+      ui.drawPrompt(text);
+    }
+
+    // Draw stationary explosions:
+    for (Blast b : stationaryBlasts) b.drawBlast();
+
+    // Flying text animations:
+    for (int i = 0; i < flyingText.size(); i++){
+      FlyingText ft = flyingText.get(i);
+      if (ft.finished()){
+        flyingText.remove(ft);
+        i--;
+      }
+      else ft.drawFlyingText();
+    }
+
+    // End-screen if gameOver:
+    if (gameOver) endScreen();
+  }
+
+  public void endScreen(){
+    int width = app.width;
+    int height = app.height;
+
+    // Fade screen to black:
+    app.noStroke();
+    app.fill(0, alpha);
+    app.rect(width/2.0f, height/2.0f, width, height);
+    if (alpha < 200) alpha += 2;
+
+    // Print GAME OVER and instructions:
+    app.textAlign(CENTER, CENTER);
+    app.textFont(endFont);
+    String text = "GAME OVER";
+    String instructions = "Press SPACE to exit to menu...";
+
+    // Coloured "GAME OVER"
+    app.fill(0, 360, 360);
+    app.pushMatrix();
+    float offset = width/500.0f;
+    app.translate(offset, offset);
+    app.textSize(width/10.0f);
+    app.text(text, width/2, height/2);
+    app.textSize(width/30.0f);
+    app.text(instructions, width/2, height*3/4);
+    app.popMatrix();
+
+    // White "GAME OVER"
+    app.fill(360);
+    app.pushMatrix();
+    //app.translate(shiftX, shiftY);
+    app.textSize(width/10.0f);
+    app.text(text, width/2, height/2);
+    app.textSize(width/30.0f);
+    app.text(instructions, width/2, height*3/4);
+    app.popMatrix();
+  }
+}
@@ -0,0 +1,83 @@
+package intruderalert.app;
+
+import java.io.File;
+
+import intruderalert.core.Clock;
+import intruderalert.core.LevelCache;
+import intruderalert.core.Maths;
+import intruderalert.core.RandomStream;
+import processing.core.PApplet;
+
+/**
+CGRA-151 Project:
+  Name - Intruder Alert
+  Developer - John Flynn
+  Start - 18/09/20
+  Finish - There's always more I could add!
+*/
+public class IntruderAlert extends PApplet {
+
+  /** Fields: */
+  private State state;
+  private Clock clock = new Clock(60); // simulation ticks 60 times per second
+  private long seed; // run seed given with "--seed=" (every game plays the same), else each game picks its own
+  private boolean seedGiven;
+  private RandomStream cosmetic = new RandomStream(Maths.randomLong()); // for effects, each game sets its own
+  private LevelCache levelCache; // generated levels, kept next to the sketch (null unless turned on)
+
+  public static void main(String[] args){
+    PApplet.main(IntruderAlert.class.getName(), args);
+  }
+
+  public void settings(){
+    //fullScreen();
+    size(1500, 900);
+    //noSmooth();
+  }
+
+  public void setup(){
+    colorMode(HSB, 360);
+    rectMode(CENTER);
+
+    // Optional speed-up for soak tests, e.g. "--time-scale=8" simulates 8 seconds every real second,
+    // optional run seed, and turning on the level cache:
+    if (args != null){
+      for (String arg : args){
+        if (arg.startsWith("--time-scale=")) clock.setTimeScale(parseFloat(arg.substring("--time-scale=".length())));
+        if (arg.equals("--level-cache")) levelCache = new LevelCache(new File(sketchPath("level-cache")));
+        if (arg.startsWith("--seed=")){ // e.g. "--seed=42" to replay the same levels
+          seed = Long.parseLong(arg.substring("--seed=".length()));
+          seedGiven = true;
+        }
+      }
+    }
+
+    state = new Menu(this);
+  }
+
+  public void draw(){
+    background(0);
+    state.runState();
+  }
+
+  public void mousePressed(){ state.mouseP(); }
+  public void mouseReleased(){ state.mouseR(); }
+  public void keyPressed(){ state.keyP(); }
+  public void keyReleased(){ state.keyR(); }
+
+  public Clock clock(){ return clock; }
+
+  public LevelCache levelCache(){ return levelCache; }
+
+  /** Seed for a new game's World: */
+  public long runSeed(){ return seedGiven? seed : Maths.randomLong(); }
+
+  /** Random stream for effects (blobs, screen shake), so they don't use up the game's own streams: */
+  public RandomStream cosmetic(){ return cosmetic; }
+  public void setCosmetic(RandomStream r){ cosmetic = r; }
+
+  public void setState(State s){ // changes state
+    state = s;
+    clock.sync(); // don't count time spent building the new state
+  }
+}
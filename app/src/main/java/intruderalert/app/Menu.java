@@ -0,0 +1,181 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import processing.core.PFont;
+import processing.core.PShape;
+import processing.core.PVector;
+
+import static processing.core.PApplet.*;
+
+/** Menu describes the title screen with the space background, art, and menu buttons:
+*/
+public class Menu extends State {
+
+  /** Fields: */
+  private PFont titleFont;
+  private PFont buttonFont;
+  private ArrayList<MenuButton> buttons = new ArrayList<MenuButton>();
+  private Background background;
+  private PShape ship;
+  private ArrayList<Ship> ships = new ArrayList<Ship>();
+
+  // Screen-shaking:
+  private PVector shift = new PVector(0, 0);
+  private PVector shiftSpeed = new PVector(0, 0);
+  private float shiftMax = 20;
+
+  // Get methods:
+  public PFont titleFont(){ return titleFont; }
+  public PFont font(){ return buttonFont; }
+  public Background background(){ return background; }
+  public PShape ship(){ return ship; }
+  public ArrayList<Ship> ships(){ return ships; }
+  public PVector shift(){ return shift; }
+  public PVector shiftSpeed(){ return shiftSpeed; }
+  public float shiftMax(){ return shiftMax; }
+
+  public Menu(IntruderAlert app){
+    super(app);
+    background = new Background(app, (int)(app.width/25.0f), 50);
+    titleFont = app.createFont("Impact", app.width/15);
+    //titleFont = app.createFont("Dialoginput.bold", app.width/15);
+    buttonFont = app.createFont("Dialoginput.bold", app.width/50);
+    buttons.add(new MenuButton(app, buttonFont, "New Game", app.height*2/3));
+
+    // Create ship shape:
+    ship = app.createShape();
+    float wingWidth = 3.5f;
+
+    ship.beginShape();
+    ship.fill(360);
+    ship.noStroke();
+    ship.vertex(0, 4);
+    ship.vertex(wingWidth, 0);
+    ship.vertex(wingWidth, 4);
+    ship.vertex(10-wingWidth, 4);
+    ship.vertex(10-wingWidth, 0);
+    ship.vertex(10, 4);
+    ship.vertex(9, 10);
+    ship.vertex(10-wingWidth, 8);
+    ship.vertex(wingWidth, 8);
+    ship.vertex(1, 10);
+    ship.endShape(CLOSE);
+  }
+
+  public void mouseP(){}
+  public void mouseR(){
+    for (MenuButton b : buttons){
+      if (b.underMouse() && b.getText().equals("New Game")){
+        app.setState(new PreGame(app, this));
+      }
+    }
+  }
+  public void keyP(){}
+  public void keyR(){}
+
+  public void updateState(){}
+
+  public void drawState(){
+    app.pushMatrix();
+    app.translate(shift.x, shift.y);
+    drawArt();
+    drawUI();
+
+    // Update screen shift:
+    shiftSpeed.sub(shift.x/5.0f, shift.y/5.0f);
+    shift.add(shiftSpeed);
+    shiftSpeed.mult(0.75f);
+  }
+
+  public void drawArt(){
+    int width = app.width;
+    int height = app.height;
+
+    // Space and stars:
+    background.drawBackground();
+
+    // Ships:
+    int random = (int)app.random(0, 60);
+    if (random == 0){
+      ships.add(new Ship(app));
+    }
+    else if (random == 59){
+      shift.add(app.random(-shiftMax, shiftMax), app.random(-shiftMax, shiftMax));
+    }
+    for (int i = 0; i < ships.size(); i++){
+      Ship s = ships.get(i);
+      if (s.offScreen()){
+        ships.remove(s);
+        i--;
+      }
+      else s.drawShip(ship);
+    }
+
+    // Walls and window:
+    float windowLeft = width/4.0f;
+    float windowRight = width-windowLeft;
+    float windowTop = height/6.0f;
+    float windowBottom = height-windowTop;
+
+    // Walls:
+    app.strokeWeight(10);
+    if (app.frameCount % 100 < 30) app.stroke(0, 360, 360);
+    else app.stroke(225, 360, 360);
+    app.fill(0, 200);
+    app.rect(windowLeft/2.0f, windowTop, windowLeft, windowTop*2); // top left
+    app.rect(windowRight+(windowLeft/2.0f), windowTop, windowLeft, windowTop*2); // top right
+    app.rect(width/2.0f, windowTop/2.0f, width/2.0f, windowTop); // top
+    app.rect(windowLeft/2.0f, windowBottom, windowLeft, windowTop*2); // bottom left
+    app.rect(windowRight+(windowLeft/2.0f), windowBottom, windowLeft, windowTop*2); // bottom right
+    app.rect(width/2.0f, height-(windowTop/2.0f), width/2.0f, windowTop); // bottom
+
+    // Artwork:
+    float sirenX = width/8;
+    float sirenY = height/6;
+    float sirenSize = width/10;
+    float lightSize = (sirenSize/3) * sin((TWO_PI/50)*app.frameCount) + (sirenSize/2);
+    float lightLength = width+height;
+    float lightWidth = width/3;
+
+    // Centre siren light:
+    app.fill(20, 360, 360);
+    app.noStroke();
+    app.ellipse(sirenX, sirenY, lightSize, lightSize);
+
+    // Light beams:
+    app.pushMatrix();
+    app.translate(sirenX, sirenY);
+    app.rotate((TWO_PI/200)*app.frameCount);
+    app.translate(-sirenX, -sirenY);
+    app.beginShape();
+    app.vertex(sirenX, sirenY);
+    app.vertex(sirenX-lightWidth/2, sirenY-lightLength);
+    app.vertex(sirenX+lightWidth/2, sirenY-lightLength);
+    app.vertex(sirenX, sirenY);
+    app.vertex(sirenX+lightWidth/2, sirenY+lightLength);
+    app.vertex(sirenX-lightWidth/2, sirenY+lightLength);
+    app.endShape(CLOSE);
+    app.popMatrix();
+
+    // Siren shell:
+    app.fill(0, 360, 360, 300);
+    app.noStroke();
+    app.ellipse(sirenX, sirenY, sirenSize, sirenSize);
+  }
+
+  public void drawUI(){
+    int width = app.width;
+    int height = app.height;
+
+    // Title and buttons:
+    app.textAlign(CENTER, CENTER);
+    app.fill(0, 360, 360);
+    app.textFont(titleFont);
+    app.text("Intruder Alert", width/2+width/500, height/3+width/500);
+    app.popMatrix();
+    app.fill(360);
+    app.text("Intruder Alert", width/2, height/3);
+    for (Button b : buttons) b.drawButton();
+  }
+}
@@ -0,0 +1,37 @@
+package intruderalert.app;
+
+import processing.core.PFont;
+
+import static processing.core.PApplet.*;
+
+public class MenuButton extends Button {
+
+  private PFont font;
+  private String text;
+
+  public MenuButton(IntruderAlert app, PFont font, String text, float y){
+    super(app);
+    this.font = font;
+    this.text = text;
+    this.x = app.width/2;
+    this.y = y;
+    this.w = app.width/4;
+    this.h = app.height/15;
+  }
+
+  public String getText(){ return text; }
+
+  public void drawButton(){
+    app.stroke(0, 360, 360);
+    app.strokeWeight(5);
+    app.fill(360, 50);
+    if (underMouse() && app.mousePressed) app.fill(0, 360, 300, 180);
+    app.rect(x, y, w, h, 10);
+
+    app.textAlign(CENTER, CENTER);
+    app.textFont(font);
+    app.fill(360);
+    if (underMouse()) app.fill(0, 360, 360);
+    app.text(text, x, y-h/10, w, h);
+  }
+}
@@ -0,0 +1,207 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import processing.core.PFont;
+import processing.core.PShape;
+import processing.core.PVector;
+
+import static processing.core.PApplet.*;
+
+/** PreGame describes the tutorial screen with controls and buttons letting player choose their colour
+* that change state to Game.
+*/
+public class PreGame extends State {
+
+  /** Fields: */
+  private Menu menu;
+  private PFont titleFont;
+  private PFont font;
+  private Background background;
+  private PShape ship;
+  private ArrayList<Ship> ships;
+  private ArrayList<PreGameButton> buttons = new ArrayList<PreGameButton>();
+
+  // Screen-shaking:
+  private PVector shift;
+  private PVector shiftSpeed;
+  private float shiftMax;
+
+  // Window:
+  private float windowLeft, windowRight, windowTop, windowBottom;
+
+  public PreGame(IntruderAlert app, Menu menu){
+    super(app);
+    this.menu = menu;
+
+    // Copy art and font:
+    titleFont = menu.titleFont();
+    font = menu.font();
+    background = menu.background();
+    ship = menu.ship();
+    ships = menu.ships();
+    shift = menu.shift();
+    shiftSpeed = menu.shiftSpeed();
+    shiftMax = menu.shiftMax();
+
+    addButtons();
+  }
+
+  public void mouseP(){}
+  public void mouseR(){
+    for (PreGameButton b : buttons){
+      if (b.underMouse()){
+        app.setState(new Game(app, b.hue()));
+      }
+    }
+    if (windowRight <= app.mouseX && app.mouseX <= app.width && 0 <= app.mouseY && app.mouseY <= windowTop*2){ // back button
+      app.setState(this.menu);
+    }
+  }
+  public void keyP(){}
+  public void keyR(){}
+
+  public void updateState(){}
+
+  public void drawState(){
+    drawArt();
+    drawTutorial();
+
+    // Update screen shift:
+    shiftSpeed.sub(shift.x/5.0f, shift.y/5.0f);
+    shift.add(shiftSpeed);
+    shiftSpeed.mult(0.75f);
+  }
+
+  public void drawTutorial(){
+    int width = app.width;
+    int height = app.height;
+
+    // Title at top:
+    app.textAlign(CENTER, CENTER);
+    app.fill(0, 360, 360);
+    app.textFont(titleFont);
+    app.textSize(width/15.0f);
+    float shift = width/500.0f;
+    app.text("Intruder Alert", width/2.0f+shift, windowTop/2.0f+shift, width, windowTop);
+    app.popMatrix();
+    app.fill(360);
+    app.text("Intruder Alert", width/2.0f, windowTop/2.0f, width, windowTop);
+
+    // Actual tutorial:
+    app.textAlign(LEFT, TOP);
+    app.fill(360);
+    app.textFont(font);
+    app.textSize(width/60);
+    String text = "Your ship is under attack! Intruders flood the halls. Take them out by any means necessary.";
+    text += "\n\nControls:\n - Move with WASD.\n - Shoot with mouse (left-click) or Arrow Keys.\n - Use SPACE for everything else.\nGood Luck!";
+    text += "\n\nPick a player colour to start:\n(Red not recommended)";
+
+    float border = width/50.0f;
+    app.text(text, width/2, height/2, windowRight-windowLeft-border, windowBottom-windowTop-border);
+
+    // Back button:
+    app.textFont(titleFont);
+    app.textSize(width/30.0f);
+    app.textAlign(LEFT, BOTTOM);
+    if (windowRight <= app.mouseX && app.mouseX <= width && 0 <= app.mouseY && app.mouseY <= windowTop*2) app.fill(0, 360, 360);
+    else app.fill(360);
+    app.text("Back", windowRight+(width-windowRight)/2.0f + 10*shift, windowTop - 10*shift, windowLeft, windowTop*2);
+  }
+
+  public void drawArt(){
+    int width = app.width;
+    int height = app.height;
+
+    // Shift:
+    app.pushMatrix();
+    app.translate(shift.x, shift.y);
+
+    // Space and stars:
+    background.drawBackground();
+
+    // Ships:
+    int random = (int)app.random(0, 60);
+    if (random == 0){
+      ships.add(new Ship(app));
+    }
+    else if (random == 59){
+      shift.add(app.random(-shiftMax, shiftMax), app.random(-shiftMax, shiftMax));
+    }
+    for (int i = 0; i < ships.size(); i++){
+      Ship s = ships.get(i);
+      if (s.offScreen()){
+        ships.remove(s);
+        i--;
+      }
+      else s.drawShip(ship);
+    }
+
+    // Walls and window:
+    windowLeft = width/4.0f;
+    windowRight = width-windowLeft;
+    windowTop = height/6.0f;
+    windowBottom = height-windowTop;
+
+    // Walls:
+    app.strokeWeight(10);
+    if (app.frameCount % 100 < 30) app.stroke(0, 360, 360);
+    else app.stroke(225, 360, 360);
+    app.fill(0, 200);
+    app.rect(windowLeft/2.0f, windowTop, windowLeft, windowTop*2); // top left
+    app.rect(windowRight+(windowLeft/2.0f), windowTop, windowLeft, windowTop*2); // top right
+    app.rect(width/2.0f, windowTop/2.0f, width/2.0f, windowTop); // top
+    app.rect(windowLeft/2.0f, windowBottom, windowLeft, windowTop*2); // bottom left
+    app.rect(windowRight+(windowLeft/2.0f), windowBottom, windowLeft, windowTop*2); // bottom right
+    app.rect(width/2.0f, height-(windowTop/2.0f), width/2.0f, windowTop); // bottom
+
+    // Artwork:
+    float sirenX = width/8;
+    float sirenY = height/6;
+    float sirenSize = width/10;
+    float lightSize = (sirenSize/3) * sin((TWO_PI/50)*app.frameCount) + (sirenSize/2);
+    float lightLength = width+height;
+    float lightWidth = width/3;
+
+    // Centre siren light:
+    app.fill(20, 360, 360);
+    app.noStroke();
+    app.ellipse(sirenX, sirenY, lightSize, lightSize);
+
+    // Light beams:
+    app.pushMatrix();
+    app.translate(sirenX, sirenY);
+    app.rotate((TWO_PI/200)*app.frameCount);
+    app.translate(-sirenX, -sirenY);
+    app.beginShape();
+    app.vertex(sirenX, sirenY);
+    app.vertex(sirenX-lightWidth/2, sirenY-lightLength);
+    app.vertex(sirenX+lightWidth/2, sirenY-lightLength);
+    app.vertex(sirenX, sirenY);
+    app.vertex(sirenX+lightWidth/2, sirenY+lightLength);
+    app.vertex(sirenX-lightWidth/2, sirenY+lightLength);
+    app.endShape(CLOSE);
+    app.popMatrix();
+
+    // Siren shell:
+    app.fill(0, 360, 360, 300);
+    app.noStroke();
+    app.ellipse(sirenX, sirenY, sirenSize, sirenSize);
+
+    // Colour buttons:
+    for (Button b : buttons) b.drawButton();
+  }
+
+  public void addButtons(){
+    float left = app.width/3.0f;
+    float right = app.width*2.0f/3.0f;
+    int numButtons = 20;
+    float bSize = (right-left)/numButtons;
+    float y = app.height*3.0f/4.0f;
+    for (int i = 0; i <= numButtons; i++){
+      float x = left+i*bSize;
+      float hue = i*360/(numButtons+1);
+      buttons.add(new PreGameButton(app, x, y, bSize, hue));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package intruderalert.app;
+
+public class PreGameButton extends Button {
+
+  /** Fields: */
+  float hue;
+
+  public PreGameButton(IntruderAlert app, float x, float y, float size, float hue){
+    super(app);
+    this.x = x;
+    this.y = y;
+    w = h = size;
+    this.hue = hue;
+  }
+
+  public float hue(){ return hue; }
+
+  public void drawButton(){
+    app.fill(hue, 360, 360);
+    if (underMouse() && app.mousePressed) app.fill(hue, 360, 200);
+    app.rect(x, y, w, h, w/10);
+  }
+}
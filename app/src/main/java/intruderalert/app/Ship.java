@@ -0,0 +1,68 @@
+package intruderalert.app;
+
+import processing.core.PShape;
+import processing.core.PVector;
+
+import static processing.core.PApplet.*;
+
+public class Ship {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private PVector pos, speed;
+  private float direction, size;
+
+  public Ship(IntruderAlert app){
+    this.app = app;
+    int width = app.width;
+    int height = app.height;
+    size = app.random(width/100, width/25);
+    float x0, y0;
+    int side = (int)app.random(0, 4); // left, top, right, bottom
+    if (side % 2 == 0){ // left and right
+      y0 = app.random(0, height);
+      if (side == 0){ // left
+        x0 = -size/2.0f + 1;
+        direction = app.random(-PI/2, PI/2);
+      }
+      else { // right
+        x0 = width+size/2.0f - 1;
+        direction = app.random(PI/2, PI*1.5f);
+      }
+    }
+    else { // top and bottom
+      x0 = app.random(0, width);
+      if (side == 1){ // top
+        y0 = -size/2.0f + 1;
+        direction = app.random(0, PI);
+      }
+      else { // bottom
+        y0 = height+size/2.0f - 1;
+        direction = app.random(PI, TWO_PI);
+      }
+    }
+    pos = new PVector(x0, y0);
+    float vel = size/5.0f;
+    speed = new PVector(vel*cos(direction), vel*sin(direction));
+  }
+
+  public boolean offScreen(){
+    float r = size/2.0f;
+    float left = pos.x-r;
+    float right = pos.x+r;
+    float top = pos.y-r;
+    float bottom = pos.y+r;
+    return (right <= 0 || left >= app.width || bottom <= 0 || top >= app.height);
+  }
+
+  public void drawShip(PShape s){
+    app.shapeMode(CENTER);
+    app.pushMatrix();
+    app.translate(pos.x, pos.y);
+    app.rotate(direction+PI/2.0f);
+    app.translate(-pos.x, -pos.y);
+    app.shape(s, pos.x, pos.y, size, size);
+    app.popMatrix();
+    pos.add(speed);
+  }
+}
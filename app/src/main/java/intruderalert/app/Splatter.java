@@ -0,0 +1,51 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import processing.core.PVector;
+
+/** Splatter describes a blood splatter when an enemy dies:
+*/
+public class Splatter {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private ArrayList<Blob> blobs = new ArrayList<Blob>();
+  private long startTick;
+  private int lifeSpan = 600;
+  private float x, y, radius; // blobs never leave this circle (they slow by 1/25 a frame, so travel at most 24 times their speed)
+  private float alpha = 360.00f;
+
+  public Splatter(IntruderAlert app, float x, float y){
+    this.app = app;
+    this.startTick = app.clock().ticks();
+    int blobsNum = 20;
+    int maxSpeed = 2;
+    int blobSize = 25;
+    this.x = x;
+    this.y = y;
+    radius = maxSpeed*24 + blobSize/2.0f;
+    for (float i = 0.00f; i < blobsNum; i++) blobs.add(new Blob(app, new PVector(x, y), maxSpeed*((blobsNum-i)/blobsNum), blobSize*(i/blobsNum), app.color(0, 360, 144)));
+  }
+
+  public float x(){ return x; }
+  public float y(){ return y; }
+  public float radius(){ return radius; }
+
+  /** Moves the blobs, once a tick: */
+  public void updateSplatter(){
+    for (Blob b : blobs) b.updateBlob();
+  }
+
+  public boolean finished(){ return (app.clock().ticks() > startTick + lifeSpan); }
+
+  public void drawSplatter(){
+    long remainingLifeSpan = lifeSpan - (app.clock().ticks() - startTick);
+    if (remainingLifeSpan <= lifeSpan/5) alpha = 360.00f*(remainingLifeSpan/(lifeSpan/5.00f));
+    for (int i = 0; i < blobs.size(); i++){
+      Blob b = blobs.get(i);
+      b.setColour(app.color(0, 360, 144, alpha));
+      b.drawBlob();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package intruderalert.app;
+
+import processing.core.PShape;
+
+import static processing.core.PApplet.*;
+
+public class Star {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private float x, y, size, angle, spin, hue;
+  private long spawnFrame;
+  private int lifeSpan;
+
+  public Star(IntruderAlert app, float x, float y, float size, float angle, float currentAge){
+    this.app = app;
+    this.x = x;
+    this.y = y;
+    this.size = size;
+    this.angle = angle;
+    this.spin = app.random(-PI/240.0f, PI/240.0f);
+    this.lifeSpan = (int)app.random(600, 1200); // 10 to 20 secs
+    this.spawnFrame = app.frameCount - (int)(lifeSpan*currentAge);
+    //this.hue = app.random(0, 360); // rainbow
+  }
+
+  public boolean expired(){
+    return (app.frameCount > spawnFrame + lifeSpan);
+  }
+
+  public void drawStar(PShape s){
+    //s.setFill(app.color(hue, 360, 360)); // rainbow
+    float brightness = 360;
+    if (app.frameCount < spawnFrame + 300){
+      brightness = 360*(app.frameCount-spawnFrame)/300;
+    }
+    else if (app.frameCount > spawnFrame + lifeSpan - 300){
+      brightness = 360*(spawnFrame+lifeSpan-app.frameCount)/300;
+    }
+    s.setFill(app.color(brightness));
+    float r = size/2.0f;
+    app.shapeMode(CENTER);
+    app.pushMatrix();
+    app.translate(x-r, y-r);
+    app.rotate(angle);
+    app.translate(-x+r, -y+r);
+    app.shape(s, x, y, size, size);
+    app.popMatrix();
+    angle += spin;
+  }
+}
@@ -0,0 +1,34 @@
+package intruderalert.app;
+
+import intruderalert.core.Clock;
+
+/** Each implementation of State describes a different game-state:
+ * Makes running the different states easier.
+ */
+public abstract class State {
+
+  /** Fields: */
+  protected IntruderAlert app;
+
+  public State(IntruderAlert app){
+    this.app = app;
+  }
+
+  abstract void mouseP();
+  abstract void mouseR();
+  abstract void keyP();
+  abstract void keyR();
+
+  public final void runState(){
+    // Fixed timestep: update as many times as the clock says are due, then draw once:
+    Clock clock = app.clock();
+    int ticks = clock.advance();
+    for (int i = 0; i < ticks; i++){
+      updateState();
+      clock.tick();
+    }
+    drawState();
+  }
+  abstract void updateState();
+  abstract void drawState();
+}
@@ -0,0 +1,237 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+
+import intruderalert.core.Enemy;
+import intruderalert.core.Gun;
+import intruderalert.core.Level;
+import intruderalert.core.TileMap;
+import intruderalert.core.Vec2;
+import intruderalert.core.World;
+import processing.core.PFont;
+import processing.core.PShape;
+
+import static processing.core.PApplet.*;
+
+/** UI describes all the fancy displays during the game, like health-bar, minimap, equipped gun and the prompt
+* that tells you to press space.
+*/
+public class UI {
+
+  /** Fields: */
+  private IntruderAlert app;
+  private PShape tri; // triangle
+  private PFont logFont; // text
+
+  public UI(IntruderAlert app){
+    this.app = app;
+
+    // Make triangle shape:
+    tri = app.createShape();
+    tri.beginShape();
+    tri.colorMode(HSB, 360);
+    tri.fill(360);
+    tri.strokeWeight(3);
+    tri.stroke(180, 360, 360);
+    float r = 10.0f;
+    for (int i = 0; i < 3; i++){
+      float angle = (-PI/2.0f) + i*(TWO_PI/3.0f);
+      float x = r*cos(angle);
+      float y = r*sin(angle);
+      tri.vertex(x, y);
+    }
+    tri.endShape(CLOSE);
+
+    logFont = app.createFont("Dialoginput.bold", app.width/90.0f);
+  }
+
+  /** Draws text-box at bottom of screen: */
+  public void drawPrompt(String text){
+    int width = app.width;
+    int height = app.height;
+    float x = width/2.0f;
+    float y = height;
+    float w = width*3.0f/4.0f;
+    float h = height/5.0f;
+    float r = width/50.0f;
+    app.stroke(0);
+    app.strokeWeight(5);
+    app.fill(0, 150);
+    app.rect(x, y, w, h, r);
+    app.stroke(180, 360, 360);
+    app.strokeWeight(3);
+    app.rect(x, y, w, h, r);
+    app.textAlign(CENTER, CENTER);
+    app.textFont(logFont);
+    app.textSize(width/50.0f);
+    app.fill(360);
+    app.text(text, x, y-h/4.0f);
+  }
+
+  /** Draws a line of debug text at the top of the screen: */
+  public void drawStats(String text){
+    app.textAlign(CENTER, TOP);
+    app.textFont(logFont);
+    app.textSize(app.width/90.0f);
+    app.fill(360);
+    app.text(text, app.width/2.0f, app.height/100.0f);
+  }
+
+  /** Draws rectangle containing gun at bottom left: */
+  public void drawGun(Gun equipped){
+    int width = app.width;
+    int height = app.height;
+
+    // Draw rectangle:
+    app.fill(0, 150);
+    app.stroke(0);
+    app.strokeWeight(5);
+    float x = 0;
+    float y = height;
+    float w = width/4.0f;
+    float h = width/4.0f;
+    float r = width/50.0f;
+    app.rect(x, y, w, h, r);
+    app.noFill();
+    app.stroke(180, 360, 360);
+    app.strokeWeight(3);
+    app.rect(x, y, w, h, r);
+
+    // Draw text:
+    x += w/4.0f;
+    y -= h/4.0f;
+    app.textAlign(CENTER, CENTER);
+    app.textFont(logFont);
+    app.textSize(width/50.0f);
+    float shift = w/300.0f;
+    app.fill(180, 360, 360);
+    app.text(equipped.name(), x+shift, y+shift, w/2.0f, w/2.0f);
+    app.fill(360);
+    app.text(equipped.name(), x, y, w/2.0f, w/2.0f);
+
+
+    app.textAlign(CENTER, TOP);
+    app.text("Equipped:", x, y+h/50.0f, w/2.0f, h/2.0f);
+
+    // Divider:
+    app.noStroke();
+    app.fill(360);
+    app.rect(w/4.0f, y-h/10.0f, w*5.0f/12.0f, h/100.0f);
+  }
+
+  /** Draws health bar made of equilateral triangles: */
+  public void drawHealthBar(float health, float maxHealth){
+    int triNum = 10;
+    float healthPerTri = maxHealth/triNum;
+    float triLength = app.width/40.0f;
+    float gap = triLength/5.0f;
+    float left = app.width/20.0f;
+    float top = left;
+
+    app.shapeMode(CORNER);
+    for (int i = 0; i < triNum; i++){
+      float x = left + (triLength+gap)*i;
+      float y = (i % 2 == 0)? top-(2.5f*gap) : top;
+      y += gap*sin((TWO_PI/(70.0f*(health/maxHealth) + 30))*(app.frameCount+10*i));
+      float healthInTri = constrain(health-(healthPerTri*i), 0, healthPerTri);
+
+      // Black triangle behind:
+      tri.setFill(app.color(0, 180));
+      tri.setStroke(app.color(0));
+
+      app.pushMatrix();
+      app.translate(x, y);
+      if (i % 2 == 0) app.rotate(PI);
+      app.scale(triLength/12.0f);
+      app.translate(-x, -y);
+      app.shape(tri, x, y);
+      app.popMatrix();
+
+      // Coloured triangle in front:
+      //tri.setFill(app.color(180*(health/maxHealth), 360, 360 * (healthInTri/healthPerTri)));
+      tri.setFill(app.color(360));
+      if (health == maxHealth) tri.setStroke(app.color(180, 360, 360));
+      else tri.setStroke(app.color(100*(health/maxHealth), 360, 360));
+
+      app.pushMatrix();
+      app.translate(x, y);
+      if (i % 2 == 0) app.rotate(PI);
+      app.scale((healthInTri/healthPerTri)*(triLength/12.0f));
+      app.translate(-x, -y);
+      app.shape(tri, x, y);
+      app.popMatrix();
+    }
+  }
+
+  public void drawMinimap(Level level, Vec2 pos, boolean gameOver){
+    int width = app.width;
+    TileMap tiles = level.tiles();
+    ArrayList<Enemy> enemies = level.enemies();
+
+    // Draw minimap:
+    float left = width-(width*9.0f/40.0f);
+    float right = width-(width/100.0f);
+    float top = width/100.0f;
+    float w = right-left;
+    float tileSize = w/tiles.cols();
+    float h = tileSize*tiles.rows();
+
+    // Transparent gray rectangle behind map:
+    float mapX = left+(w/2.0f);
+    float mapY = top+(h/2.0f);
+    float extension = width/100.0f;
+    float fontSize = width/50.0f;
+    app.stroke(0);
+    app.strokeWeight(5);
+    app.fill(0, 150);
+    app.rect(mapX, mapY+fontSize, w+extension, h+extension+(2*fontSize), 30);
+
+    app.stroke(180, 360, 360);
+    app.strokeWeight(3);
+    app.noFill();
+    app.rect(mapX, mapY+fontSize, w+extension, h+extension+(2*fontSize), 30);
+
+    // Text (level num and enemies left):
+    String text = "----Level "+(level.num()+1)+"----\nEnemies remaining: "+enemies.size();
+    app.textAlign(CENTER, CENTER);
+    app.fill(360);
+    app.textFont(logFont);
+    app.textSize(width/90.0f);
+    app.text(text, mapX, top+h+fontSize-(extension/2.0f));
+
+    // White minimap tiles:
+    app.stroke(350);
+    app.strokeWeight(1);
+    app.fill(350);
+    for (int row = 0; row < tiles.rows(); row++){
+      for (int col = 0; col < tiles.cols(); col++){
+        int value = tiles.type(row, col);
+        if (value != 1) continue;
+        float x = left + (tileSize*col) + (tileSize/2.0f);
+        float y = top + (tileSize*row) + (tileSize/2.0f);
+        app.rect(x, y, tileSize, tileSize);
+      }
+    }
+
+    // Draw small red squares for enemies:
+    for (Enemy e : enemies){
+      float eCol = e.x()/World.TILE_SIZE;
+      float eRow = e.y()/World.TILE_SIZE;
+      float eX = eCol*tileSize + left;
+      float eY = eRow*tileSize + top;
+      app.noStroke();
+      app.fill(0, 360, 360);
+      app.rect(eX, eY, tileSize/1.5f, tileSize/1.5f, tileSize/4.0f);
+    }
+
+    // Draw blue square for player:
+    float pCol = pos.x/World.TILE_SIZE;
+    float pRow = pos.y/World.TILE_SIZE;
+    float pX = pCol*tileSize + left;
+    float pY = pRow*tileSize + top;
+    app.noStroke();
+    if (gameOver) app.fill(0); // black if dead
+    else app.fill(200, 360, 360);
+    app.rect(pX, pY, tileSize*1.5f, tileSize*1.5f, tileSize/2.0f);
+  }
+}
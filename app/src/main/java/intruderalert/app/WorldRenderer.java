@@ -0,0 +1,408 @@
+package intruderalert.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import intruderalert.core.BulletPool;
+import intruderalert.core.Character;
+import intruderalert.core.CharacterGrid;
+import intruderalert.core.Crate;
+import intruderalert.core.Enemy;
+import intruderalert.core.HealthOrb;
+import intruderalert.core.Item;
+import intruderalert.core.Level;
+import intruderalert.core.Player;
+import intruderalert.core.TileMap;
+import intruderalert.core.Vec2;
+import intruderalert.core.Wall;
+import intruderalert.core.WallMap;
+import intruderalert.core.World;
+import processing.core.PGraphics;
+
+import static processing.core.PApplet.*;
+
+/**
+ * WorldRenderer draws the contents of a World (tiles, walls, crates, items, characters, and bullets).
+ * These were the draw methods of the level classes before they moved into the core.
+ *
+ * The tiles never change once a level is generated, so they are drawn once into offscreen chunk images
+ * (CHUNK by CHUNK tiles each), and each frame only the chunks overlapping the camera's view are drawn.
+ * A chunk is made at the resolution the zoom needs (sharpened later if the camera zooms in), and the chunks
+ * just outside the view are made ahead, a few a frame, so one rarely has to be made on the frame it appears.
+ * At most MAX_CHUNK_PIXELS are kept, dropping the chunks drawn least recently (but never ones in view).
+ * Everything else is culled to the view too: walls, crates, and characters are looked up by tile (in the level's
+ * wall and crate maps and the world's character grid), and the rest is checked against the view one by one.
+ */
+public class WorldRenderer {
+
+  /** Constants: */
+  public static final int CHUNK = 8; // tiles along each side of a chunk
+  private static final float RESOLUTION = 1.5f; // most chunk pixels per world unit (the game's zoom, so they stay sharp)
+  private static final float RESOLUTION_STEP = 1.5f; // zoomed out, chunks are made at RESOLUTION divided by this as often as fits
+  private static final int MAX_CHUNK_PIXELS = 16*605*605; // about 23 MB of ARGB, 16 chunks at RESOLUTION (12 fill the view)
+  private static final int CHUNKS_AHEAD = 1; // chunks made (or sharpened) ahead of need each frame
+  private static final int PAD = 2; // pixels drawn past each edge of a chunk, so tile outlines aren't cut off
+  private static final float MARGIN = 2; // how far past the view a shape can still be seen (its anti-aliased edge)
+
+  /** Fields: */
+  private IntruderAlert app;
+
+  // World-space rectangle the camera sees:
+  private float viewLeft, viewTop, viewRight, viewBottom;
+  private int drawn, culled; // objects drawn and culled since the view was set (this frame)
+
+  // Tile chunks of chunkLevel:
+  private Level chunkLevel;
+  private LinkedHashMap<Integer, PGraphics> chunks = new LinkedHashMap<Integer, PGraphics>(16, 0.75f, true); // by row*chunkCols+col, least recently drawn first
+  private float[] chunkResolutions; // of each chunk made (row-major)
+  private int[] chunkFrames; // frame each chunk was last drawn in (row-major)
+  private int chunkRows, chunkCols;
+  private int chunkPixels; // in all the chunks kept
+  private int chunksDrawn, chunksMade; // chunks drawn and made last frame
+  private int frame = 1; // counted by setView
+
+  // Walls of wallLevel:
+  private Level wallLevel;
+  private int[] wallFrames; // frame each wall was last looked at (so walls on several tiles are looked at once)
+  private int[] wallsLooked; // indices of the walls looked at this frame
+
+  public WorldRenderer(IntruderAlert app){
+    this.app = app;
+    viewRight = viewBottom = Float.MAX_VALUE; // everything, until the camera sets a view
+    viewLeft = viewTop = -Float.MAX_VALUE;
+  }
+
+  /** Sets the world-space rectangle the camera sees (anything outside it needn't be drawn), starting a new frame's counts: */
+  public void setView(float left, float top, float right, float bottom){
+    viewLeft = left;
+    viewTop = top;
+    viewRight = right;
+    viewBottom = bottom;
+    drawn = 0;
+    culled = 0;
+    frame++;
+  }
+
+  public int drawn(){ return drawn; }
+  public int culled(){ return culled; }
+  public int chunksDrawn(){ return chunksDrawn; }
+  public int chunksMade(){ return chunksMade; }
+  public int chunksKept(){ return chunks.size(); }
+
+  /** True if a w by h box centred on (x, y) is at least partly in view, counting it as drawn (or else culled): */
+  public boolean inView(float x, float y, float w, float h){
+    w = w/2.0f + MARGIN;
+    h = h/2.0f + MARGIN;
+    if (x+w < viewLeft || x-w > viewRight || y+h < viewTop || y-h > viewBottom){
+      culled++;
+      return false;
+    }
+    drawn++;
+    return true;
+  }
+
+  /** Draws the tiles in view, from the level's chunk images, then makes a few of the chunks around the view: */
+  public void drawTiles(Level level){
+    if (level != chunkLevel){ // new level, chunks of the old one are no use
+      chunkLevel = level;
+      chunkRows = (level.tiles().rows()+CHUNK-1)/CHUNK;
+      chunkCols = (level.tiles().cols()+CHUNK-1)/CHUNK;
+      chunks.clear();
+      chunkResolutions = new float[chunkRows*chunkCols];
+      chunkFrames = new int[chunkRows*chunkCols];
+      chunkPixels = 0;
+    }
+    float chunkSize = CHUNK*World.TILE_SIZE;
+    float resolution = resolution(app.width/(viewRight-viewLeft));
+    int firstRow = max(0, floor(viewTop/chunkSize));
+    int lastRow = min(chunkRows-1, floor(viewBottom/chunkSize));
+    int firstCol = max(0, floor(viewLeft/chunkSize));
+    int lastCol = min(chunkCols-1, floor(viewRight/chunkSize));
+    chunksDrawn = 0;
+    chunksMade = 0;
+    for (int row = firstRow; row <= lastRow; row++){
+      for (int col = firstCol; col <= lastCol; col++) chunkFrames[row*chunkCols + col] = frame; // in view, so kept
+    }
+    for (int row = firstRow; row <= lastRow; row++){
+      for (int col = firstCol; col <= lastCol; col++){
+        int i = row*chunkCols + col;
+        PGraphics chunk = chunks.get(i); // (counts as used)
+        if (chunk == null) chunk = makeChunk(level.tiles(), row, col, resolution);
+        float pad = PAD/chunkResolutions[i];
+        app.image(chunk, col*chunkSize - pad, row*chunkSize - pad, chunkSize + 2*pad, chunkSize + 2*pad);
+        chunksDrawn++;
+      }
+    }
+
+    // Ahead of need, sharpen chunks in view then make the ones around it (without dropping any for them):
+    for (int row = firstRow; row <= lastRow && chunksMade < CHUNKS_AHEAD; row++){
+      for (int col = firstCol; col <= lastCol && chunksMade < CHUNKS_AHEAD; col++){
+        if (chunkResolutions[row*chunkCols + col] < resolution) makeChunk(level.tiles(), row, col, resolution);
+      }
+    }
+    for (int row = max(0, firstRow-1); row <= min(chunkRows-1, lastRow+1) && chunksMade < CHUNKS_AHEAD; row++){
+      for (int col = max(0, firstCol-1); col <= min(chunkCols-1, lastCol+1) && chunksMade < CHUNKS_AHEAD; col++){
+        if (chunks.containsKey(row*chunkCols + col) || chunkPixels + pixels(resolution) > MAX_CHUNK_PIXELS) continue;
+        makeChunk(level.tiles(), row, col, resolution);
+      }
+    }
+  }
+
+  /** Chunk resolution for a zoom: RESOLUTION, stepped down while it would still be as sharp as the screen: */
+  private float resolution(float zoom){
+    float resolution = RESOLUTION;
+    while (resolution/RESOLUTION_STEP >= zoom && resolution/RESOLUTION_STEP >= 0.25f) resolution /= RESOLUTION_STEP;
+    return resolution;
+  }
+
+  /** Pixels in a chunk image at a resolution: */
+  private int pixels(float resolution){
+    int size = ceil(CHUNK*World.TILE_SIZE*resolution) + 2*PAD;
+    return size*size;
+  }
+
+  /** Makes (or remakes) a chunk at a resolution, then drops the least recently drawn chunks out of view while over MAX_CHUNK_PIXELS: */
+  private PGraphics makeChunk(TileMap tiles, int row, int col, float resolution){
+    int i = row*chunkCols + col;
+    PGraphics old = chunks.remove(i);
+    if (old != null) chunkPixels -= old.width*old.height;
+    PGraphics chunk = drawChunk(tiles, row, col, resolution);
+    chunks.put(i, chunk);
+    chunkResolutions[i] = resolution;
+    chunkPixels += chunk.width*chunk.height;
+    chunksMade++;
+
+    Iterator<Map.Entry<Integer, PGraphics>> oldest = chunks.entrySet().iterator();
+    while (chunkPixels > MAX_CHUNK_PIXELS && oldest.hasNext()){
+      Map.Entry<Integer, PGraphics> entry = oldest.next();
+      int j = entry.getKey();
+      if (chunkFrames[j] == frame) continue; // in view
+      chunkPixels -= entry.getValue().width*entry.getValue().height;
+      chunkResolutions[j] = 0;
+      oldest.remove();
+    }
+    return chunk;
+  }
+
+  /** Draws the tiles of one chunk (and the edges of its neighbours' tiles, under its padding) into an image: */
+  private PGraphics drawChunk(TileMap tiles, int chunkRow, int chunkCol, float resolution){
+    float tileSize = World.TILE_SIZE;
+    int size = ceil(CHUNK*tileSize*resolution) + 2*PAD;
+    PGraphics g = app.createGraphics(size, size);
+    g.beginDraw();
+    g.colorMode(HSB, 360);
+    g.rectMode(CENTER);
+    g.translate(PAD, PAD);
+    g.scale(resolution);
+    g.translate(-chunkCol*CHUNK*tileSize, -chunkRow*CHUNK*tileSize);
+    g.stroke(360);
+    g.strokeWeight(1);
+    int fromRow = max(0, chunkRow*CHUNK - 1);
+    int toRow = min(tiles.rows()-1, (chunkRow+1)*CHUNK);
+    int fromCol = max(0, chunkCol*CHUNK - 1);
+    int toCol = min(tiles.cols()-1, (chunkCol+1)*CHUNK);
+    for (int row = fromRow; row <= toRow; row++){
+      for (int col = fromCol; col <= toCol; col++){
+        int value = tiles.type(row, col);
+        if (value == 0) continue;
+        float x = col*tileSize + tileSize/2.0f;
+        float y = row*tileSize + tileSize/2.0f;
+        switch (value){
+          case 1: g.fill(tiles.brightness(row, col)); break;
+          case 2: g.fill(225, 360, 360); break;
+        }
+        g.rect(x, y, tileSize, tileSize);
+      }
+    }
+    g.endDraw();
+    return g;
+  }
+
+  /** Draws the walls on tiles in view (found in the level's wall map): */
+  public void drawWalls(Level level){
+    if (level != wallLevel){
+      wallLevel = level;
+      wallFrames = new int[level.walls().size()];
+      wallsLooked = new int[level.walls().size()];
+    }
+    WallMap wallMap = level.wallMap();
+    TileMap tiles = level.tiles();
+    float tileSize = World.TILE_SIZE;
+    float reach = 2.5f + MARGIN; // (the stroke)
+    int firstRow = max(0, floor((viewTop-reach)/tileSize));
+    int lastRow = min(tiles.rows()-1, floor((viewBottom+reach)/tileSize));
+    int firstCol = max(0, floor((viewLeft-reach)/tileSize));
+    int lastCol = min(tiles.cols()-1, floor((viewRight+reach)/tileSize));
+    app.strokeWeight(5);
+    app.stroke(225, 360, 360);
+    int looked = 0;
+    for (int row = firstRow; row <= lastRow; row++){
+      for (int col = firstCol; col <= lastCol; col++){
+        if (tiles.type(row, col) != 2) continue; // a wall is in view if one of its tiles is
+        for (int k = wallMap.start(row, col); k < wallMap.end(row, col); k++){
+          int id = wallMap.wallIndex(k);
+          if (wallFrames[id] == frame) continue;
+          wallFrames[id] = frame;
+          wallsLooked[looked++] = id;
+        }
+      }
+    }
+    Arrays.sort(wallsLooked, 0, looked); // drawn in the level's order, as neighbours' outlines overlap
+    for (int i = 0; i < looked; i++) drawWall(level.walls().get(wallsLooked[i]));
+    culled += level.walls().size() - looked; // no tiles in view
+  }
+
+  public void drawWall(Wall wall){
+    float x = (wall.left()+wall.right())/2.0f;
+    float y = (wall.top()+wall.bottom())/2.0f;
+    float w = (wall.right()-wall.left());
+    float h = (wall.bottom()-wall.top());
+    if (!inView(x, y, w+5, h+5)) return; // (grown by the stroke)
+
+    int glowFrames = wall.glowFrames();
+    if (glowFrames == 0) app.fill(0);
+    else {
+      float brightness = 360*glowFrames/wall.maxGlowFrames();
+      app.fill(180, 360, brightness);
+    }
+    app.rect(x, y, w, h);
+  }
+
+  /** Draws the crates on tiles in view (each from the crate map entry of the tile holding its centre): */
+  public void drawCrates(Level level){
+    ArrayList<Crate>[][] crateMap = level.crateMap();
+    TileMap tiles = level.tiles();
+    float tileSize = World.TILE_SIZE;
+    int firstRow = max(0, floor((viewTop-MARGIN)/tileSize));
+    int lastRow = min(tiles.rows()-1, floor((viewBottom+MARGIN)/tileSize));
+    int firstCol = max(0, floor((viewLeft-MARGIN)/tileSize));
+    int lastCol = min(tiles.cols()-1, floor((viewRight+MARGIN)/tileSize));
+    int looked = 0;
+    for (int row = firstRow; row <= lastRow; row++){
+      for (int col = firstCol; col <= lastCol; col++){
+        ArrayList<Crate> cratesOnTile = crateMap[row][col];
+        if (cratesOnTile == null) continue;
+        for (Crate c : cratesOnTile){
+          if ((int)(c.y()/tileSize) != row || (int)(c.x()/tileSize) != col) continue; // a neighbour's
+          looked++;
+          if (inView(c.x(), c.y(), c.size(), c.size())) drawCrate(c);
+        }
+      }
+    }
+    culled += level.crates().size() - looked; // on tiles out of view
+  }
+
+  public void drawCrate(Crate c){
+    Vec2 pos = c.pos();
+    float size = c.size();
+    app.noStroke();
+    app.fill(200);
+    app.rect(pos.x, pos.y, size, size);
+    if (c.explosive()) app.fill(60, 360, 360);
+    else app.fill(25, 360, 270);
+    float innerSize = size*3.0f/4.0f;
+    app.rect(pos.x, pos.y, innerSize, innerSize, innerSize/5.0f);
+    if (c.explosive()){
+      app.fill(0, 360, 360);
+      app.rect(pos.x, pos.y-(size*3.0f/16.0f), size/4.0f, size/2.0f);
+      app.rect(pos.x, pos.y+(size/4.0f), size/4.0f, size/4.0f);
+    }
+  }
+
+  public void drawItem(Item item){
+    Vec2 pos = item.pos();
+    float size = item.size();
+    if (!inView(pos.x, pos.y, size*1.5f, size)) return;
+    app.noStroke();
+    app.fill(item.hue(), 360, 360);
+    if (item instanceof HealthOrb){
+      if (((HealthOrb)item).health() > 2) app.rect(pos.x, pos.y, size, size, size/4.0f);
+      else app.ellipse(pos.x, pos.y, size, size);
+    }
+    else app.rect(pos.x, pos.y, size*1.5f, size); // gun
+  }
+
+  /** Draws the player (unless gameOver) and the enemies on tiles in view, found in the world's character grid: */
+  public void drawCharacters(World world, boolean gameOver){
+    Player player = world.player();
+    if (!gameOver && inView(player.x(), player.y(), player.w(), player.h())) drawCharacter(player);
+
+    CharacterGrid grid = world.characterGrid();
+    TileMap tiles = world.level().tiles();
+    float tileSize = World.TILE_SIZE;
+    float reach = grid.reach() + MARGIN; // characters centred on tiles just out of view can still reach into it
+    int firstRow = max(0, floor((viewTop-reach)/tileSize));
+    int lastRow = min(tiles.rows()-1, floor((viewBottom+reach)/tileSize));
+    int firstCol = max(0, floor((viewLeft-reach)/tileSize));
+    int lastCol = min(tiles.cols()-1, floor((viewRight+reach)/tileSize));
+    int looked = 0;
+    for (int row = firstRow; row <= lastRow; row++){
+      for (int col = firstCol; col <= lastCol; col++){
+        ArrayList<Character> cell = grid.cell(row, col);
+        if (cell == null) continue;
+        for (Character c : cell){
+          if (!(c instanceof Enemy)) continue; // the player, drawn first
+          looked++;
+          if (inView(c.x(), c.y(), c.w(), c.h())) drawCharacter(c);
+        }
+      }
+    }
+    culled += Math.max(0, world.enemies().size() - looked); // on tiles out of view
+  }
+
+  public void drawCharacter(Character c){
+    if (c instanceof Player){
+      app.stroke(c.hue(), 360, 250);
+      app.strokeWeight(1);
+    }
+    else app.noStroke();
+    app.fill(c.hue(), 360, 360);
+    app.rect(c.x(), c.y(), c.w(), c.h(), 10);
+  }
+
+  public void drawBullet(BulletPool bullets, int i){
+    float x = bullets.x(i);
+    float y = bullets.y(i);
+    float size = bullets.size(i);
+    float hue = bullets.hue(i);
+
+    // In view if the box around the bullet and its trail is:
+    float[] trailX = bullets.trailX();
+    float[] trailY = bullets.trailY();
+    float left = x, right = x, top = y, bottom = y;
+    for (int t = i*BulletPool.TRAIL; t < (i+1)*BulletPool.TRAIL; t++){
+      left = min(left, trailX[t]);
+      right = max(right, trailX[t]);
+      top = min(top, trailY[t]);
+      bottom = max(bottom, trailY[t]);
+    }
+    if (!inView((left+right)/2.0f, (top+bottom)/2.0f, right-left+size+2, bottom-top+size+2)) return;
+    drawTrail(bullets, i);
+
+    app.strokeWeight(1);
+    app.stroke(hue, 360, 250);
+    app.fill(hue, 360, 360);
+    app.ellipse(x, y, size, size);
+    app.noStroke();
+    app.fill(hue, 100, 360);
+    app.ellipse(x, y, size/2.0f, size/2.0f);
+  }
+
+  /** Draws a bullet's trail (moved along by BulletPool.updateBullet()), shrinking towards its oldest point: */
+  public void drawTrail(BulletPool bullets, int i){
+    float[] trailX = bullets.trailX();
+    float[] trailY = bullets.trailY();
+    int first = i*BulletPool.TRAIL; // bullet i's trail starts here
+    int length = BulletPool.TRAIL;
+    float bulletSize = bullets.size(i);
+    app.noStroke();
+    app.fill(bullets.hue(i), 100, 360);
+    for (int t = first; t < first+length; t++){
+      float size = bulletSize*(t-first)/length;
+      app.ellipse(trailX[t], trailY[t], size, size);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package intruderalert.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import intruderalert.core.BulletPool;
+import intruderalert.core.Character;
+import intruderalert.core.CharacterGrid;
+import intruderalert.core.Crate;
+import intruderalert.core.Enemy;
+import intruderalert.core.Explosion;
+import intruderalert.core.Level;
+import intruderalert.core.Maths;
+import intruderalert.core.Pistol;
+import intruderalert.core.Player;
+import intruderalert.core.TileMap;
+import intruderalert.core.Vec2;
+import intruderalert.core.VisibilityField;
+import intruderalert.core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * Times the collision checks World.update() runs every tick, on a generated level filled with
+ * a tunable number of bullets and enemies (bullet-hell scenarios).
+ * Each call is one tick's worth of work: every bullet (or enemy) is checked once.
+ *
+ * Run e.g. "java -jar bench/target/benchmarks.jar Collision -p bullets=50000 -p enemies=100".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+  @Param({"100", "1000", "10000", "50000"})
+  public int bullets;
+
+  @Param({"10", "100", "1000"})
+  public int enemies;
+
+  @Param({"42"})
+  public long seed;
+
+  private Level level;
+  private Player player;
+  private ArrayList<Enemy> enemyList;
+  private ArrayList<Crate> crates;
+  private ArrayList<Character> characters;
+  private CharacterGrid grid;
+  private VisibilityField field = new VisibilityField();
+  private BulletPool bulletPool;
+  private ArrayList<Vec2> blasts; // explosion centres
+
+  /** Fresh level every iteration, as the checks damage crates and push characters around: */
+  @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+  public void setUp(){
+    Maths.randomSeed(seed);
+    level = new Level(0, seed);
+    crates = level.crates();
+    float tileSize = World.TILE_SIZE;
+
+    // Floor tiles to put things on:
+    TileMap tiles = level.tiles();
+    ArrayList<Integer> floor = new ArrayList<Integer>();
+    for (int i = 0; i < tiles.size(); i++) if (tiles.type(i) == 1) floor.add(i);
+
+    player = new Player(tileSize/2.0f, 8, new Pistol(), 200);
+    player.setPos(level.playerX(), level.playerY());
+
+    // Enemies (the level's own, topped up or cut down to the number wanted):
+    enemyList = new ArrayList<Enemy>(level.enemies());
+    while (enemyList.size() > enemies) enemyList.remove(enemyList.size()-1);
+    while (enemyList.size() < enemies){
+      Vec2 pos = randomPos(tiles, floor);
+      enemyList.add(new Enemy(pos, Float.MAX_VALUE, tileSize/2.0f, 3, 15*tileSize, new Pistol()));
+    }
+    characters = new ArrayList<Character>(enemyList);
+    characters.add(player);
+    grid = new CharacterGrid(tiles.rows(), tiles.cols());
+
+    // Bullets, half from the player and half from enemies, flying in random directions:
+    bulletPool = new BulletPool(bullets);
+    for (int i = 0; i < bullets; i++){
+      float direction = random(0, TWO_PI);
+      float speed = 10;
+      Vec2 pos = randomPos(tiles, floor);
+      bulletPool.add(i % 2 == 0, i % 4 == 1, pos.x, pos.y, speed*cos(direction), speed*sin(direction), 10, 15, 3, 0, 360, 7, Float.MAX_VALUE);
+    }
+
+    blasts = new ArrayList<Vec2>();
+    for (int i = 0; i < 100; i++) blasts.add(randomPos(tiles, floor));
+  }
+
+  /** A random point on a random floor tile: */
+  private static Vec2 randomPos(TileMap tiles, ArrayList<Integer> floor){
+    float tileSize = World.TILE_SIZE;
+    int t = floor.get((int)random(0, floor.size()));
+    return new Vec2((tiles.col(t)+random(0, 1))*tileSize, (tiles.row(t)+random(0, 1))*tileSize);
+  }
+
+  @Benchmark
+  public int bulletHitWall(){
+    int hits = 0;
+    for (int i = 0; i < bulletPool.size(); i++) if (bulletPool.hitWall(i, level.wallMap())) hits++;
+    return hits;
+  }
+
+  @Benchmark
+  public int bulletHitCrate(){
+    int hits = 0;
+    for (int i = 0; i < bulletPool.size(); i++) if (bulletPool.hitCrate(i, level.crateMap())) hits++;
+    return hits;
+  }
+
+  @Benchmark
+  public int bulletHitCharacter(){
+    int hits = 0;
+    for (int i = 0; i < bulletPool.size(); i++) if (bulletPool.hitCharacter(i, characters)) hits++;
+    return hits;
+  }
+
+  /** Includes rebuilding the grid, as World does every tick: */
+  @Benchmark
+  public int bulletHitCharacterGrid(){
+    grid.rebuild(characters);
+    int hits = 0;
+    for (int i = 0; i < bulletPool.size(); i++) if (bulletPool.hitCharacter(i, grid)) hits++;
+    return hits;
+  }
+
+  @Benchmark
+  public Player updateCharacter(){
+    player.updateCharacter(level.wallMap(), level.crateMap());
+    for (Enemy e : enemyList) e.updateCharacter(level.wallMap(), level.crateMap());
+    return player;
+  }
+
+  @Benchmark
+  public int enemyInLineOfSight(){
+    int seen = 0;
+    for (Enemy e : enemyList) if (e.inLineOfSight(player.pos(), level.sightGrid())) seen++;
+    return seen;
+  }
+
+  /** Includes working out the player's visibility field, as World does every tick: */
+  @Benchmark
+  public int enemyInLineOfSightField(){
+    field.update(level.sightGrid(), player.x(), player.y(), 15);
+    int seen = 0;
+    for (Enemy e : enemyList) if (e.inLineOfSight(player.pos(), field)) seen++;
+    return seen;
+  }
+
+  /** 100 explosive crates blowing up (damage is applied as each Explosion is made): */
+  @Benchmark
+  public int explosionDamage(){
+    int n = 0;
+    for (Vec2 pos : blasts){
+      new Explosion(Explosion.Kind.EXPLOSIVE, pos, World.TILE_SIZE*4, 50, player, enemyList, crates);
+      n++;
+    }
+    return n;
+  }
+}
@@ -0,0 +1,211 @@
+package intruderalert.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import intruderalert.core.Level;
+import intruderalert.core.LevelCache;
+import intruderalert.core.LevelGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times each stage of Level generation on its own, and the whole pipeline, for a range of map sizes.
+ * Every stage starts from a level that has been generated up to (but not including) that stage,
+ * made fresh (with the same seed) before each call, so stages can't see each other's work.
+ *
+ * Run one size with e.g. "java -jar bench/target/benchmarks.jar LevelGeneration -p size=101x101".
+ * The allLevels benchmarks time generating a run's 10 normal levels, one after another or on LevelGenerator's pool,
+ * or reading them back from a LevelCache.
+ * defineWalls also reports the walls made and how many there would be as 1-tile-thick strips (see WallCounts).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LevelGenerationBenchmark {
+
+  /** Stages in the order the Level constructor runs them: */
+  static final int TILES = 0, ROOMS = 1, PASSAGES = 2, CONNECT = 3, DEAD_ENDS = 4, WALLS = 5, WALL_MAP = 6, CONTENTS = 7, SIGHT_GRID = 8, DONE = 9;
+
+  /** Runs stages from (inclusive) to to (exclusive) on level: */
+  static void runStages(Level level, int rows, int cols, int from, int to){
+    for (int stage = from; stage < to; stage++){
+      switch (stage){
+        case TILES: level.generateTiles(rows, cols); break;
+        case ROOMS: level.generateRooms(Level.roomAttempts(rows, cols)); break;
+        case PASSAGES: level.generatePassages(); break;
+        case CONNECT: level.connectRegions(); break;
+        case DEAD_ENDS: level.removeDeadEnds(); break;
+        case WALLS: level.defineWalls(); break;
+        case WALL_MAP: level.fillWallMap(); break;
+        case CONTENTS: level.generateContents(); break;
+        case SIGHT_GRID: level.fillSightGrid(); break;
+      }
+    }
+  }
+
+  /** A level generated up to stage() (map sizes are "rows x cols", each a multiple of 4 + 1): */
+  @State(Scope.Thread)
+  public abstract static class Stage {
+
+    @Param({"25x41", "101x101", "251x251", "501x501", "1001x1001"})
+    public String size;
+
+    @Param({"42"})
+    public long seed;
+
+    int rows, cols;
+    Level level;
+
+    abstract int stage();
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void setUp(){
+      String[] parts = size.split("x");
+      rows = Integer.parseInt(parts[0]);
+      cols = Integer.parseInt(parts[1]);
+      level = new Level(0, rows, cols, seed, false);
+      runStages(level, rows, cols, TILES, stage());
+    }
+
+    /** Runs this stage: */
+    Level run(){
+      runStages(level, rows, cols, stage(), stage()+1);
+      return level;
+    }
+  }
+
+  public static class BeforeTiles extends Stage { int stage(){ return TILES; } }
+  public static class BeforeRooms extends Stage { int stage(){ return ROOMS; } }
+  public static class BeforePassages extends Stage { int stage(){ return PASSAGES; } }
+  public static class BeforeConnect extends Stage { int stage(){ return CONNECT; } }
+  public static class BeforeDeadEnds extends Stage { int stage(){ return DEAD_ENDS; } }
+  public static class BeforeWalls extends Stage { int stage(){ return WALLS; } }
+  public static class BeforeWallMap extends Stage { int stage(){ return WALL_MAP; } }
+  public static class BeforeContents extends Stage { int stage(){ return CONTENTS; } }
+  public static class BeforeSightGrid extends Stage { int stage(){ return SIGHT_GRID; } }
+
+  @Benchmark
+  public Level generateTiles(BeforeTiles s){ return s.run(); }
+
+  @Benchmark
+  public Level generateRooms(BeforeRooms s){ return s.run(); }
+
+  /** Packs rooms until the level is full (see Level.generateRooms(int, boolean)): */
+  @Benchmark
+  public Level generateRoomsDense(BeforeRooms s){
+    s.level.generateRooms(Level.roomAttempts(s.rows, s.cols), true);
+    return s.level;
+  }
+
+  @Benchmark
+  public Level generatePassages(BeforePassages s){ return s.run(); }
+
+  @Benchmark
+  public Level connectRegions(BeforeConnect s){ return s.run(); }
+
+  @Benchmark
+  public Level removeDeadEnds(BeforeDeadEnds s){ return s.run(); }
+
+  /**
+   * Walls per level from defineWalls(), merged into rectangles and as they would be as strips (each wall is one
+   * rect() drawn, and a candidate checked on every tile around it). Counted after each call, outside its time:
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WallCounts {
+    public long walls, stripWalls;
+    Level level; // from the last call
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void clear(){ walls = stripWalls = 0; }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void count(){
+      walls += level.walls().size();
+      stripWalls += level.stripWallCount();
+    }
+  }
+
+  @Benchmark
+  public Level defineWalls(BeforeWalls s, WallCounts counts){
+    counts.level = s.run();
+    return counts.level;
+  }
+
+  @Benchmark
+  public Level fillWallMap(BeforeWallMap s){ return s.run(); }
+
+  @Benchmark
+  public Level generateContents(BeforeContents s){ return s.run(); }
+
+  @Benchmark
+  public Level fillSightGrid(BeforeSightGrid s){ return s.run(); }
+
+  /** Seed of a run of levels: */
+  @State(Scope.Thread)
+  public static class Run {
+    @Param({"42"})
+    public long seed;
+  }
+
+  @Benchmark
+  public ArrayList<Level> allLevelsSequential(Run r){ return new LevelGenerator(r.seed).generateAll(10, false); }
+
+  @Benchmark
+  public ArrayList<Level> allLevelsParallel(Run r){ return new LevelGenerator(r.seed).generateAll(10, true); }
+
+  /** A run's 10 normal levels saved in a LevelCache, in a temporary directory: */
+  @State(Scope.Benchmark)
+  public static class Cached {
+    @Param({"42"})
+    public long seed;
+
+    LevelGenerator generator;
+    LevelCache cache;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+      generator = new LevelGenerator(seed);
+      cache = new LevelCache(Files.createTempDirectory("level-cache").toFile());
+      for (int i = 0; i < 10; i++) cache.save(new Level(i, generator.levelSeed(i)));
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown(){
+      File[] files = cache.dir().listFiles();
+      if (files != null) for (File f : files) f.delete();
+      cache.dir().delete();
+    }
+  }
+
+  @Benchmark
+  public ArrayList<Level> allLevelsCached(Cached c){
+    ArrayList<Level> levels = new ArrayList<Level>();
+    for (int i = 0; i < 10; i++) levels.add(c.cache.load(i, c.generator.levelSeed(i)));
+    return levels;
+  }
+
+  /** The whole pipeline, as the Level constructor runs it: */
+  @Benchmark
+  public Level pipeline(BeforeTiles s){
+    runStages(s.level, s.rows, s.cols, TILES, DONE);
+    return s.level;
+  }
+}
@@ -0,0 +1,74 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+
+/**
+ * AIScheduler spreads enemy decisions (whether to shoot at the player) across ticks under a budget of decisions per tick.
+ * Enemies on screen are decided first, then the rest, each pass starting where the last tick ran out of budget,
+ * so every enemy gets its turn. Enemies that didn't get a turn this tick are counted as deferred.
+ * The budget is a count rather than a time, so which enemies decide (and so what they draw from the combat stream)
+ * is the same on any machine; the time spent is only measured, for reporting.
+ */
+public class AIScheduler {
+
+  /** Fields: */
+  private int budget = 64; // decisions per tick (0 for no limit)
+  private float viewW = 24*World.TILE_SIZE, viewH = 14*World.TILE_SIZE; // area around the player that is on screen
+  private int next; // enemy to start from next tick
+  private int decided, deferred; // this tick
+  private long totalDecided, totalDeferred; // since created
+  private long nanos, totalNanos; // time spent deciding, this tick and since created
+
+  public int budget(){ return budget; }
+  public void setBudget(int decisions){ budget = Math.max(decisions, 0); }
+
+  /** Sets the size of the area (in world units, centred on the player) counted as on screen: */
+  public void setView(float w, float h){
+    viewW = w;
+    viewH = h;
+  }
+
+  public int decided(){ return decided; }
+  public int deferred(){ return deferred; }
+  public long totalDecided(){ return totalDecided; }
+  public long totalDeferred(){ return totalDeferred; }
+  public long nanos(){ return nanos; }
+  public long totalNanos(){ return totalNanos; }
+
+  /** Lets as many living enemies as the budget allows decide what to do, on screen first: */
+  public void run(World world, ArrayList<Enemy> enemies, Vec2 target){
+    long start = System.nanoTime();
+    int n = enemies.size();
+    int living = 0;
+    decided = 0;
+    if (next >= n) next = 0;
+
+    // Pass 0 decides enemies on screen, pass 1 the rest:
+    int stoppedAt = -1;
+    for (int pass = 0; pass < 2 && stoppedAt < 0; pass++){
+      for (int k = 0; k < n; k++){
+        int i = (next+k) % n;
+        Enemy e = enemies.get(i);
+        if (e.dead() || onScreen(e, target) != (pass == 0)) continue;
+        if (budget > 0 && decided == budget){
+          stoppedAt = i;
+          break;
+        }
+        world.decide(e);
+        decided++;
+      }
+    }
+    if (stoppedAt >= 0) next = stoppedAt;
+    for (Enemy e : enemies) if (!e.dead()) living++;
+
+    deferred = living-decided;
+    totalDecided += decided;
+    totalDeferred += deferred;
+    nanos = System.nanoTime()-start;
+    totalNanos += nanos;
+  }
+
+  private boolean onScreen(Enemy e, Vec2 target){
+    return Math.abs(e.x()-target.x) <= viewW/2.0f && Math.abs(e.y()-target.y) <= viewH/2.0f;
+  }
+}
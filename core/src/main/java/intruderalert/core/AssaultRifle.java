@@ -0,0 +1,42 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class AssaultRifle extends Gun {
+  
+  public AssaultRifle(float damage, float speed, int cooldown){
+    name = "Assault Rifle";
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = TWO_PI/100.0f;
+    size = 10;
+    force = 3.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(9.0f*fpt());
+    durability = 1;
+    crateDamage = 5;
+  }
+  
+  public AssaultRifle(){
+    name = "Assault Rifle";
+    damage = 3;
+    speed = 5;
+    inaccuracy = TWO_PI/100.0f;
+    size = 10;
+    force = 3.0f;
+    cooldown = 8;
+    lifespan = (int)(9.0f*fpt());
+    durability = 1;
+    crateDamage = 5;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    float speedX = speed*cos(direction);
+    float speedY = speed*sin(direction);
+    world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, hue, lifespan, crateDamage, durability);
+  }
+}
@@ -0,0 +1,44 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class Bouncer extends Gun {
+  
+  public Bouncer(float damage, float speed, int cooldown){
+    name = "Bouncer";
+    bounces = true;
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = TWO_PI/60.0f;
+    size = 10;
+    force = 3.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(15.0f*fpt());
+    durability = 3;
+    crateDamage = 4;
+  }
+  
+  public Bouncer(){
+    name = "Bouncer";
+    bounces = true;
+    damage = 2;
+    speed = 5;
+    inaccuracy = TWO_PI/60.0f;
+    size = 10;
+    force = 3.0f;
+    cooldown = 6;
+    lifespan = (int)(15.0f*fpt());
+    durability = 3;
+    crateDamage = 4;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    float speedX = speed*cos(direction);
+    float speedY = speed*sin(direction);
+    world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, hue, lifespan, crateDamage, durability);
+  }
+}
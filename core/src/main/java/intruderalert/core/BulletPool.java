@@ -0,0 +1,293 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * BulletPool holds every bullet in flight as parallel arrays of primitives (one slot per bullet),
+ * so firing and removing bullets doesn't allocate anything once the arrays are big enough.
+ * Bullets are moving circles that inflict damage upon hitting a character or crate.
+ * Removing a bullet moves the last bullet into its slot, so bullet i is only valid until the next remove.
+ */
+public class BulletPool {
+
+  /** Constants: */
+  public static final int TRAIL = 10; // recent positions kept per bullet (moved along every tick), drawn behind it
+
+  /** Fields: */
+  private int count; // bullets in flight (slots 0 to count-1)
+  private float[] x, y, speedX, speedY;
+  private float[] damage, size, force, hue, lifespan, crateDamage, durability;
+  private int[] age; // ticks since fired
+  private boolean[] player, bounces;
+  private float[] trailX, trailY; // TRAIL positions per bullet, bullet i's start at i*TRAIL
+
+  public BulletPool(){
+    this(256);
+  }
+
+  public BulletPool(int capacity){
+    allocate(Math.max(capacity, 1));
+  }
+
+  private void allocate(int capacity){
+    x = resize(x, capacity);
+    y = resize(y, capacity);
+    speedX = resize(speedX, capacity);
+    speedY = resize(speedY, capacity);
+    damage = resize(damage, capacity);
+    size = resize(size, capacity);
+    force = resize(force, capacity);
+    hue = resize(hue, capacity);
+    lifespan = resize(lifespan, capacity);
+    crateDamage = resize(crateDamage, capacity);
+    durability = resize(durability, capacity);
+    trailX = resize(trailX, capacity*TRAIL);
+    trailY = resize(trailY, capacity*TRAIL);
+    age = (age == null)? new int[capacity] : Arrays.copyOf(age, capacity);
+    player = (player == null)? new boolean[capacity] : Arrays.copyOf(player, capacity);
+    bounces = (bounces == null)? new boolean[capacity] : Arrays.copyOf(bounces, capacity);
+  }
+
+  private static float[] resize(float[] a, int length){
+    return (a == null)? new float[length] : Arrays.copyOf(a, length);
+  }
+
+  /** Fires a new bullet from (x, y): */
+  public void add(boolean player, boolean bounces, float x, float y, float speedX, float speedY, float damage, float size, float force, float hue, float lifespan, float crateDamage, float durability){
+    if (count == this.x.length) allocate(count*2);
+    int i = count++;
+    this.player[i] = player;
+    this.bounces[i] = bounces;
+    this.x[i] = x;
+    this.y[i] = y;
+    this.speedX[i] = speedX;
+    this.speedY[i] = speedY;
+    this.damage[i] = damage;
+    this.size[i] = size;
+    this.force[i] = force;
+    this.hue[i] = hue;
+    this.lifespan[i] = lifespan;
+    this.crateDamage[i] = crateDamage;
+    this.durability[i] = durability;
+    this.age[i] = 0;
+    Arrays.fill(trailX, i*TRAIL, (i+1)*TRAIL, x);
+    Arrays.fill(trailY, i*TRAIL, (i+1)*TRAIL, y);
+  }
+
+  /** Removes bullet i by moving the last bullet into its place: */
+  public void remove(int i){
+    int last = --count;
+    if (i == last) return;
+    player[i] = player[last];
+    bounces[i] = bounces[last];
+    x[i] = x[last];
+    y[i] = y[last];
+    speedX[i] = speedX[last];
+    speedY[i] = speedY[last];
+    damage[i] = damage[last];
+    size[i] = size[last];
+    force[i] = force[last];
+    hue[i] = hue[last];
+    lifespan[i] = lifespan[last];
+    crateDamage[i] = crateDamage[last];
+    durability[i] = durability[last];
+    age[i] = age[last];
+    System.arraycopy(trailX, last*TRAIL, trailX, i*TRAIL, TRAIL);
+    System.arraycopy(trailY, last*TRAIL, trailY, i*TRAIL, TRAIL);
+  }
+
+  public void clear(){ count = 0; }
+  public int size(){ return count; }
+  public boolean isEmpty(){ return (count == 0); }
+
+  public float x(int i){ return x[i]; }
+  public float y(int i){ return y[i]; }
+  public float left(int i){ return x[i]-(size[i]/2.0f); }
+  public float top(int i){ return y[i]-(size[i]/2.0f); }
+  public float right(int i){ return x[i]+(size[i]/2.0f); }
+  public float bottom(int i){ return y[i]+(size[i]/2.0f); }
+  public float size(int i){ return size[i]; }
+  public float hue(int i){ return hue[i]; }
+  public boolean player(int i){ return player[i]; }
+  public boolean bounces(int i){ return bounces[i]; }
+  public boolean expired(int i){ return (age[i] > lifespan[i]); }
+  public void damage(int i, float dmg){ durability[i] -= dmg; }
+  public float durability(int i){ return durability[i]; }
+  public boolean destroyed(int i){ return (durability[i] <= 0); }
+
+  /** Trails of all bullets (see TRAIL), for drawing: */
+  public float[] trailX(){ return trailX; }
+  public float[] trailY(){ return trailY; }
+
+  public boolean hitWall(int i, WallMap wallMap){
+    float tileSize = World.TILE_SIZE;
+    int row = (int)(y[i]/tileSize);
+    int col = (int)(x[i]/tileSize);
+    int end = wallMap.end(row, col);
+
+    for (int k = wallMap.start(row, col); k < end; k++){
+      Wall w = wallMap.wall(k);
+      // Bounding box (efficient):
+      boolean collidingVertically = (top(i) < w.bottom()) && (bottom(i) > w.top());
+      boolean collidingHorizontally = (left(i) < w.right()) && (right(i) > w.left());
+      if (bounces[i]){
+        float r = size[i]/2.0f;
+        float sx = speedX[i];
+        float sy = speedY[i];
+        if (collidingVertically){
+          if (left(i)+sx <= w.right() && left(i)-sx >= w.right()){ // bullet hit right of wall
+            w.glow();
+            x[i] = w.right()+(r);
+            speedX[i] = -sx;
+          }
+          else if (right(i)+sx >= w.left() && right(i)-sx <= w.left()){ // bullet hit left of wall
+            w.glow();
+            x[i] = w.left()-(r);
+            speedX[i] = -sx;
+          }
+        }
+        else if (collidingHorizontally){
+          if (top(i)+sy <= w.bottom() && top(i)-sy >= w.bottom()){ // bullet hit bottom of wall
+            w.glow();
+            y[i] = w.bottom()+(r);
+            speedY[i] = -sy;
+          }
+          else if (bottom(i)+sy >= w.top() && bottom(i)-sy <= w.top()){ // bullet hit top of wall
+            w.glow();
+            y[i] = w.top()-(r);
+            speedY[i] = -sy;
+          }
+        }
+      }
+      if (collidingVertically && collidingHorizontally) return true;
+    }
+    return false;
+  }
+
+  public boolean hitCrate(int i, ArrayList<Crate>[][] crateMap){
+    float tileSize = World.TILE_SIZE;
+    int row = (int)(y[i]/tileSize);
+    int col = (int)(x[i]/tileSize);
+    ArrayList<Crate> crates = crateMap[row][col];
+
+    if (crates != null){
+      for (int j = 0; j < crates.size(); j++){
+        Crate c = crates.get(j);
+        // Bounding box (efficient):
+        boolean collidingVertically = (top(i) < c.bottom()) && (bottom(i) > c.top());
+        boolean collidingHorizontally = (left(i) < c.right()) && (right(i) > c.left());
+        if (bounces[i]){
+          float r = size[i]/2.0f;
+          float sx = speedX[i];
+          float sy = speedY[i];
+          if (collidingVertically){
+            if (left(i)+sx <= c.right() && left(i)-sx >= c.right()){ // hit right of crate
+              x[i] = c.right()+(r);
+              speedX[i] = -sx;
+              c.damage(crateDamage[i]);
+              durability[i]--;
+            }
+            else if (right(i)+sx >= c.left() && right(i)-sx <= c.left()){ // hit left of crate
+              x[i] = c.left()-(r);
+              speedX[i] = -sx;
+              c.damage(crateDamage[i]);
+              durability[i]--;
+            }
+          }
+          else if (collidingHorizontally){
+            if (top(i)+sy <= c.bottom() && top(i)-sy >= c.bottom()){ // hit bottom of crate
+              y[i] = c.bottom()+(r);
+              speedY[i] = -sy;
+              c.damage(crateDamage[i]);
+              durability[i]--;
+            }
+            else if (bottom(i)+sy >= c.top() && bottom(i)-sy <= c.top()){// hit top of crate
+              y[i] = c.top()-(r);
+              speedY[i] = -sy;
+              c.damage(crateDamage[i]);
+              durability[i]--;
+            }
+          }
+        }
+        else if (collidingVertically && collidingHorizontally){
+          c.damage(crateDamage[i]);
+          durability[i]--;
+        }
+        if (collidingVertically && collidingHorizontally) return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean hitCharacter(int i, ArrayList<Character> chars){
+    for (int j = 0; j < chars.size(); j++){
+      if (canHit(i, chars.get(j))){
+        hit(i, chars.get(j));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Same as above, but only checks characters in nearby cells of the grid (hitting the one first in the list, as above): */
+  public boolean hitCharacter(int i, CharacterGrid grid){
+    float reach = grid.reach();
+    int topRow = grid.row(top(i)-reach);
+    int bottomRow = grid.row(bottom(i)+reach);
+    int leftCol = grid.col(left(i)-reach);
+    int rightCol = grid.col(right(i)+reach);
+    Character first = null;
+    for (int row = topRow; row <= bottomRow; row++){
+      for (int col = leftCol; col <= rightCol; col++){
+        ArrayList<Character> chars = grid.cell(row, col);
+        if (chars == null) continue;
+        for (int j = 0; j < chars.size(); j++){
+          Character c = chars.get(j);
+          if (canHit(i, c) && (first == null || c.gridOrder() < first.gridOrder())) first = c;
+        }
+      }
+    }
+    if (first == null) return false;
+    hit(i, first);
+    return true;
+  }
+
+  /** True if bullet i is touching c and can hurt it: */
+  private boolean canHit(int i, Character c){
+    boolean collidingVertically = (top(i) < c.bottom()) && (bottom(i) > c.top());
+    boolean collidingHorizontally = (left(i) < c.right()) && (right(i) > c.left());
+    return collidingVertically && collidingHorizontally && player[i] != (c instanceof Player); // player can't hit self and enemies can't hit enemies
+  }
+
+  /** Damages and knocks back c: */
+  private void hit(int i, Character c){
+    c.damage(damage[i]);
+    // Apply force/knockback:
+    float direction = atan2(c.y()-y[i], c.x()-x[i]);
+    float speedX = force[i]*cos(direction);
+    float speedY = force[i]*sin(direction);
+    c.addSpeed(speedX, speedY);
+  }
+
+  /** Moves bullet i one tick along, and its trail after it: */
+  public void updateBullet(int i){
+    x[i] += speedX[i];
+    y[i] += speedY[i];
+    age[i]++;
+
+    // Each trail point moves halfway between the next two, the last two close in on the bullet:
+    int first = i*TRAIL;
+    int last = first+TRAIL-1;
+    for (int t = first; t < last-1; t++){
+      trailX[t] = (trailX[t+1]+trailX[t+2])/2.0f;
+      trailY[t] = (trailY[t+1]+trailY[t+2])/2.0f;
+    }
+    trailX[last-1] = (x[i]+trailX[last])/2.0f;
+    trailY[last-1] = (y[i]+trailY[last])/2.0f;
+    trailX[last] = x[i];
+    trailY[last] = y[i];
+  }
+}
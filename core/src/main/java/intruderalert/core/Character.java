@@ -0,0 +1,151 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+
+import static intruderalert.core.Maths.*;
+
+/** 
+ * Character describes a player or enemy that collides with walls, bullets, and explosions.
+ */
+public abstract class Character {
+ 
+  protected float w, h;
+  protected Vec2 pos = new Vec2(0, 0);
+  protected Vec2 speed = new Vec2(0, 0);
+  protected float maxSpeed;
+  protected float maxHealth, health;
+  protected Gun equippedGun;
+  
+  protected float realHue, hue;
+  protected int hueFramesLeft;
+
+  private int gridOrder; // position in the list the CharacterGrid was last built from
+  
+  public float x(){ return pos.x; }
+  public float y(){ return pos.y; }
+  public float w(){ return w; }
+  public float h(){ return h; }
+  public float left(){ return pos.x-w/2.0f; }
+  public float right(){ return pos.x+w/2.0f; }
+  public float top(){ return pos.y-h/2.0f; }
+  public float bottom(){ return pos.y+h/2.0f; }
+  
+  public Vec2 pos(){ return pos; }
+  public Vec2 speed(){ return speed; }
+  public void setPos(float x, float y){ pos.set(x, y); }
+  public void setSpeed(float x, float y){ speed.set(x, y); }
+  
+  public void addSpeed(Vec2 v){ speed.add(v); }
+  public void addSpeed(float x, float y){ speed.add(x, y); }
+  
+  int gridOrder(){ return gridOrder; }
+  void setGridOrder(int i){ gridOrder = i; }
+
+  public Gun equippedGun(){ return equippedGun; }
+  public void equipGun(Gun gun){ equippedGun = gun; }
+  public boolean cooldownOver(long tick){
+    if (equippedGun == null) return false;
+    return equippedGun.cooldownOver(tick);
+  }
+
+  public float hue(){ return hue; }
+  public float realHue(){ return realHue; }
+  public void setHue(float hue, int frames){
+    this.hue = hue;
+    hueFramesLeft = frames;
+  }
+  
+  public float health(){ return health; }
+  public void heal(float health){ this.health = constrain(this.health+health, 0, maxHealth); }
+  public float maxHealth(){ return maxHealth; }
+  public boolean atFullHealth(){ return (health == maxHealth); }
+  public void damage(float dmg){ 
+    health -= dmg;
+    if (this instanceof Player) setHue(0, 10);
+  }
+  public boolean dead(){ return (health <= 0); }
+  
+  public void updateCharacter(WallMap wallMap, ArrayList<Crate>[][] crateMap){    
+    // Collision checking:
+    float tileSize = World.TILE_SIZE;
+    int row = (int)(pos.y/tileSize);
+    int col = (int)(pos.x/tileSize);
+    int wallsEnd = wallMap.end(row, col);
+    ArrayList<Crate> crates = crateMap[row][col];
+    
+    for (int k = wallMap.start(row, col); k < wallsEnd; k++){
+      Wall w = wallMap.wall(k);
+      boolean collidingVertically = (top() < w.bottom() && bottom() > w.top());
+      boolean collidingHorizontally = (left() < w.right() && right() > w.left());
+      if (!collidingVertically && !collidingHorizontally) continue;
+      
+      if (collidingVertically){
+        if (left()+speed.x <= w.right() && left()-speed.x >= w.right()){ // player hit right of wall
+          w.glow();
+          pos.set(w.right()+(this.w/2.0f), pos.y);
+          speed.set(0, speed.y);
+        }
+        else if (right()+speed.x >= w.left() && right()-speed.x <= w.left()){ // player hit left of wall
+          w.glow();
+          pos.set(w.left()-(this.w/2.0f), pos.y);
+          speed.set(0, speed.y);
+        }
+      }
+      else if (collidingHorizontally){
+        if (top()+speed.y <= w.bottom() && top()-speed.y >= w.bottom()){ // player hit bottom of wall
+          w.glow();
+          pos.set(pos.x, w.bottom()+(this.h/2.0f));
+          speed.set(speed.x, 0);
+          //println("Afters speedX: "+speed.x+" speedY: "+speed.y);
+        }
+        else if (bottom()+speed.y >= w.top() && bottom()-speed.y <= w.top()){ // player hit top of wall
+          w.glow();
+          pos.set(pos.x, w.top()-(this.h/2.0f));
+          speed.set(speed.x, 0);
+        }
+      }
+    }
+    if (crates != null){
+      for (Crate c : crates){
+        boolean collidingVertically = (top() < c.bottom() && bottom() > c.top());
+        boolean collidingHorizontally = (left() < c.right() && right() > c.left());
+        if (!collidingVertically && !collidingHorizontally) continue;
+        
+        if (collidingVertically){
+          if (left()+speed.x <= c.right() && left()-speed.x >= c.right()){ // player hit right of wall
+            pos.set(c.right()+(this.w/2.0f), pos.y);
+            speed.set(0, speed.y);
+          }
+          else if (right()+speed.x >= c.left() && right()-speed.x <= c.left()){ // player hit left of wall
+            pos.set(c.left()-(this.w/2.0f), pos.y);
+            speed.set(0, speed.y);
+          }
+        }
+        else if (collidingHorizontally){
+          if (top()+speed.y <= c.bottom() && top()-speed.y >= c.bottom()){ // player hit bottom of wall
+            pos.set(pos.x, c.bottom()+(this.h/2.0f));
+            speed.set(speed.x, 0);
+          }
+          else if (bottom()+speed.y >= c.top() && bottom()-speed.y <= c.top()){ // player hit top of wall
+            pos.set(pos.x, c.top()-(this.h/2.0f));
+            speed.set(speed.x, 0);
+          }
+        }
+      }
+    }
+    
+    // Friction:
+    float speedX = 0.85f * speed.x;
+    float speedY = 0.85f * speed.y;
+    if (abs(speedX) <= 0.01f) speedX = 0;
+    if (abs(speedY) <= 0.01f) speedY = 0;
+    speed.set(speedX, speedY);
+    
+    // Move player:
+    pos.add(speed);
+    
+    // Update hue:
+    if (hueFramesLeft == 0) hue = realHue;
+    else hueFramesLeft--;
+  }
+}
@@ -0,0 +1,56 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+
+/**
+ * CharacterGrid is a spatial hash of characters with one cell per level tile.
+ * Each character goes in the cell holding its centre, so a bullet only has to check the cells
+ * its bounding box (grown by the biggest character's half-size) covers, not every character.
+ * It is rebuilt every tick, as characters move. Each character remembers its place in the list the grid
+ * was built from, so a bullet touching several hits the same one it would checking the list in order.
+ */
+public class CharacterGrid {
+
+  /** Fields: */
+  private ArrayList<Character>[][] cells;
+  private int rows, cols;
+  private ArrayList<ArrayList<Character>> used = new ArrayList<ArrayList<Character>>(); // non-empty cells
+  private float reach; // half-size of the biggest character
+  private int size; // characters added since the last rebuild
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public CharacterGrid(int rows, int cols){
+    this.rows = rows;
+    this.cols = cols;
+    cells = new ArrayList[rows][cols];
+  }
+
+  /** Empties the grid and adds all the characters: */
+  public void rebuild(ArrayList<Character> characters){
+    for (ArrayList<Character> cell : used) cell.clear();
+    used.clear();
+    reach = 0;
+    size = 0;
+    for (Character c : characters) add(c);
+  }
+
+  public void add(Character c){
+    int row = row(c.y());
+    int col = col(c.x());
+    ArrayList<Character> cell = cells[row][col];
+    if (cell == null) cell = cells[row][col] = new ArrayList<Character>(2);
+    if (cell.isEmpty()) used.add(cell);
+    cell.add(c);
+    c.setGridOrder(size++);
+    reach = Math.max(reach, Math.max(c.w(), c.h())/2.0f);
+  }
+
+  public int row(float y){ return Math.max(0, Math.min(rows-1, (int)(y/World.TILE_SIZE))); }
+  public int col(float x){ return Math.max(0, Math.min(cols-1, (int)(x/World.TILE_SIZE))); }
+
+  /** Grows a box by this to find every cell a character touching the box could be in: */
+  public float reach(){ return reach; }
+
+  /** The characters centred in the tile at row, col (null if none were ever added): */
+  public ArrayList<Character> cell(int row, int col){ return cells[row][col]; }
+}
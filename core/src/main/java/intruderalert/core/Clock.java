@@ -0,0 +1,53 @@
+package intruderalert.core;
+
+/**
+ * Clock describes the fixed-timestep simulation clock.
+ * Real time is accumulated every frame and spent in whole ticks of 1/tickRate seconds, so the game
+ * updates at the same rate no matter how fast frames are drawn (N ticks per frame, or none).
+ * The time scale lets the simulation run faster (or slower) than real time.
+ */
+public class Clock {
+
+  /** Fields: */
+  private float tickRate; // ticks per simulated second
+  private float timeScale = 1; // simulated seconds per real second
+  private int maxTicksPerFrame = 5; // at normal speed, so one slow frame can't snowball into more slow frames
+  private double accumulator; // real time not yet simulated (in ticks)
+  private long lastTime = -1; // nanoTime of previous frame
+  private long ticks; // ticks simulated since start
+
+  public Clock(float tickRate){
+    this.tickRate = tickRate;
+  }
+
+  public long ticks(){ return ticks; }
+  public float tickRate(){ return tickRate; }
+  public float timeScale(){ return timeScale; }
+  public void setTimeScale(float timeScale){ this.timeScale = Math.max(timeScale, 0); }
+
+  /** Returns how many ticks are due this frame: */
+  public int advance(){
+    long now = System.nanoTime();
+    if (lastTime < 0) lastTime = now;
+    accumulator += (now-lastTime)/1e9 * tickRate * timeScale;
+    lastTime = now;
+
+    int due = (int)accumulator;
+    int maxTicks = (int)Math.ceil(maxTicksPerFrame * Math.max(timeScale, 1));
+    if (due > maxTicks){ // too far behind, drop the extra time instead of catching up
+      due = maxTicks;
+      accumulator = due;
+    }
+    accumulator -= due;
+    return due;
+  }
+
+  /** Called after each simulation tick: */
+  public void tick(){ ticks++; }
+
+  /** Forgets time spent outside the simulation (e.g. while a state was being built): */
+  public void sync(){
+    lastTime = System.nanoTime();
+    accumulator = 0;
+  }
+}
@@ -0,0 +1,56 @@
+package intruderalert.core;
+
+import java.util.Arrays;
+
+/** 
+ * This class describes a square destructible box.
+ * Explosive crates blow up when destroyed, damaging everything nearby.
+ */
+public class Crate {
+  
+  /** Fields: */
+  private Vec2 pos;
+  private float size, durability;
+  private boolean explosive;
+  
+  // Where the level keeps it:
+  private int index = -1; // in the level's crate list
+  private int[] cells = new int[9]; // crate-map tiles (row*cols + col) it was added to
+  private int numCells;
+  
+  public Crate(Vec2 pos, float size, boolean explosive){
+    this.pos = pos;
+    this.size = size;
+    this.explosive = explosive;
+    if (explosive) durability = 5;
+    else durability = 20;
+  }
+  
+  public Vec2 pos(){ return pos; }
+  public float x(){ return pos.x; }
+  public float y(){ return pos.y; }
+  public float size(){ return size; }
+  public float left(){ return pos.x-size/2.0f; }
+  public float right(){ return pos.x+size/2.0f; }
+  public float top(){ return pos.y-size/2.0f; }
+  public float bottom(){ return pos.y+size/2.0f; }
+  
+  public boolean containsPoint(float x, float y){
+    return (left() <= x && x <= right()) && (top() <= y && y <= bottom());
+  }
+  
+  public void damage(float dmg){ durability -= dmg; }
+  public float durability(){ return durability; }
+  public boolean destroyed(){ return (durability <= 0); }
+  public boolean explosive(){ return explosive; }
+  
+  int index(){ return index; }
+  void setIndex(int i){ index = i; }
+  int numCells(){ return numCells; }
+  int cell(int i){ return cells[i]; }
+  void addCell(int tile){
+    if (numCells == cells.length) cells = Arrays.copyOf(cells, numCells*2);
+    cells[numCells++] = tile;
+  }
+  void clearCells(){ numCells = 0; }
+}
@@ -0,0 +1,87 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * Enemy describes a character that shoots at the player when it can see them.
+ * It chases the player along a FlowField until it can see them, then circles them to one side.
+ */
+public class Enemy extends Character {
+  
+  /** Fields: */
+  private float range;
+  private float moveX, moveY; // direction to accelerate in (length 1, or 0 to stand still)
+  private int side; // side to circle the player to (1 or -1, 0 until first chosen)
+  
+  public Enemy(Vec2 pos, float health, float size, float maxSpeed, float range, Gun gun){
+    this.pos = pos;
+    maxHealth = this.health = health;
+    w = h = size;
+    realHue = hue = 0;
+    this.maxSpeed = maxSpeed;
+    this.range = range;
+    equippedGun = gun;
+  }
+  
+  /** True if the target is in range and no walls or crates are in the way (see SightGrid): */
+  public boolean inLineOfSight(Vec2 position, SightGrid sightGrid){
+    float x0 = pos.x;
+    float y0 = pos.y;
+    float x1 = position.x;
+    float y1 = position.y;
+    
+    float r = range/2.0f;
+    boolean inBoundingBox = (x0-r <= x1 && x1 <= x0+r) && (y0-r <= y1 && y1 <= y0+r);
+    if (!inBoundingBox) return false; // not in bounding box
+    // Must be in bounding box:
+    if (dist(x0, y0, x1, y1) > r) return false; // not in circular range
+    
+    return sightGrid.clearLine(x0, y0, x1, y1);
+  }
+  
+  /** Same as above, but looks up this enemy's cell in a field seen from the target (see VisibilityField): */
+  public boolean inLineOfSight(Vec2 position, VisibilityField field){
+    float r = range/2.0f;
+    boolean inBoundingBox = (pos.x-r <= position.x && position.x <= pos.x+r) && (pos.y-r <= position.y && position.y <= pos.y+r);
+    if (!inBoundingBox) return false; // not in bounding box
+    // Must be in bounding box:
+    if (dist(pos.x, pos.y, position.x, position.y) > r) return false; // not in circular range
+    
+    return field.visible(pos.x, pos.y);
+  }
+  
+  public float range(){ return range; }
+  
+  /** Chooses which way to move: along the field towards the target, or around the target if it can be seen: */
+  public void chase(FlowField field, Vec2 target, boolean seesTarget, RandomStream rng){
+    moveX = moveY = 0;
+    if (seesTarget){
+      if (side == 0 || rng.random(0, 1) < 0.01f) side = (rng.random(0, 1) < 0.5f)? 1 : -1;
+      float direction = atan2(target.y-pos.y, target.x-pos.x) + side*HALF_PI;
+      moveX = cos(direction);
+      moveY = sin(direction);
+      return;
+    }
+    int next = field.next(pos.x, pos.y);
+    if (next < 0) return; // too far away (or already there)
+    float tileSize = World.TILE_SIZE;
+    float dx = (next%field.cols() + 0.5f)*tileSize - pos.x;
+    float dy = (next/field.cols() + 0.5f)*tileSize - pos.y;
+    float d = sqrt(dx*dx + dy*dy);
+    if (d == 0) return;
+    moveX = dx/d;
+    moveY = dy/d;
+  }
+  
+  /** Accelerates in the direction chosen by the last chase(): */
+  public void move(){
+    if (moveX == 0 && moveY == 0) return;
+    float speedX = speed.x + (moveX*maxSpeed - speed.x)/4;
+    float speedY = speed.y + (moveY*maxSpeed - speed.y)/4;
+    speed.set(speedX, speedY);
+  }
+  
+  public void shoot(World world, float direction){
+    if (equippedGun != null) equippedGun.shoot(world, false, pos, direction, 0);
+  }
+}
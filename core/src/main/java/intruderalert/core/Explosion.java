@@ -0,0 +1,91 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * This class describes a blast at a point in the level.
+ * If not purely decorative, explosions damage players, enemies, and crates within their radius
+ * as soon as they are made. How an explosion looks is up to whoever draws it (see Kind).
+ */
+public class Explosion {
+
+  /** What caused the explosion (decides its colours): */
+  public enum Kind {
+    EXPLOSIVE, // explosive crate blowing up
+    CRATE, // crate breaking
+    BULLET, // bullet hitting a wall or crate (coloured by the bullet's hue)
+    HIT // bullet hitting a character
+  }
+
+  /** Fields: */
+  private Kind kind;
+  private Vec2 pos;
+  private float size, damage, hue;
+
+  public Explosion(Kind kind, Vec2 pos, float size, float damage, Player player, ArrayList<Enemy> enemies, ArrayList<Crate> crates){
+    this.kind = kind;
+    this.pos = pos;
+    this.size = size;
+    this.damage = damage;
+
+    // Apply damage:
+    damage(player, enemies, crates);
+  }
+
+  /** Decorative explosions: */
+  public Explosion(Kind kind, Vec2 pos, float size, float hue){
+    this.kind = kind;
+    this.pos = pos;
+    this.size = size;
+    this.hue = hue;
+  }
+
+  public Kind kind(){ return kind; }
+  public Vec2 pos(){ return pos; }
+  public float size(){ return size; }
+  public float damage(){ return damage; }
+  public float hue(){ return hue; }
+
+  public void damage(Player player, ArrayList<Enemy> enemies, ArrayList<Crate> crates){
+    if (damage <= 0) return;
+
+    // Make arraylist of all characters:
+    ArrayList<Character> characters = new ArrayList<Character>(enemies);
+    characters.add(player);
+
+    float r = size/2.0f;
+    float left = pos.x-r;
+    float right = pos.x+r;
+    float top = pos.y-r;
+    float bottom = pos.y+r;
+    for (Character c : characters){
+      Vec2 p = c.pos();
+      // Bounding box:
+      if (left <= p.x && p.x <= right && top <= p.y && p.y <= bottom){
+        float dist = dist(p.x, p.y, pos.x, pos.y);
+        if (dist <= r){
+          c.damage(damage * (r-dist)/r);
+          float force = (damage * dist/r)/2.0f + 5.0f;
+          // Apply force/knockback:
+          float direction = atan2(c.y()-pos.y, c.x()-pos.x);
+          float speedX = force*cos(direction);
+          float speedY = force*sin(direction);
+          c.addSpeed(new Vec2(speedX, speedY));
+        }
+      }
+    }
+
+    for (Crate c : crates){
+      Vec2 p = c.pos();
+      // Bounding box:
+      if (left <= p.x && p.x <= right && top <= p.y && p.y <= bottom){
+        float dist = dist(p.x, p.y, pos.x, pos.y);
+        if (dist <= r){
+          c.damage(damage * (r-dist)/r);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class FlameThrower extends Gun {
+  
+  public FlameThrower(float damage, float speed, float cooldown){
+    name = "Flame Thrower";
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = TWO_PI/10.0f;
+    size = 15;
+    force = 1.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(3.0f*fpt());
+    durability = 1;
+    crateDamage = 2;
+  }
+  
+  public FlameThrower(){
+    name = "Flame Thrower";
+    damage = 1;
+    speed = 7;
+    inaccuracy = TWO_PI/10.0f;
+    size = 15;
+    force = 1.0f;
+    cooldown = 0.5f;
+    lifespan = (int)(2.0f*fpt());
+    durability = 1;
+    crateDamage = 2;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    float speedX = speed*cos(direction);
+    float speedY = speed*sin(direction);
+    world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, 35, lifespan, crateDamage, durability);
+  }
+}
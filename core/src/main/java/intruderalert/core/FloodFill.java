@@ -0,0 +1,147 @@
+package intruderalert.core;
+
+/**
+ * FloodFill fills connected tiles on a TileMap for the level generator's region, connect, and wall stages:
+ * fill() changes each tile of one type to another as it is reached (so no tile is visited twice),
+ * fillLine() does the same along one row or column, and spread() leaves the map alone and lets a Spreader
+ * decide where the fill goes (marking reached tiles with a stamp instead, so nothing is cleared between fills).
+ * Its queue is a ring buffer that is reused between fills, and find() carries on scanning from where it
+ * last stopped, so filling every group of tiles on a map costs one pass over the map in total.
+ */
+public class FloodFill {
+
+  /** Fields: */
+  private int[] queue; // ring buffer of tile indices
+  private int head, count;
+  private int cursor; // where find() carries on from
+  private int lineStart, lineEnd; // first and last tile of the last fillLine()
+  private int[] reached; // spread() number that last reached each tile
+  private int spreads; // spread() calls so far
+  private boolean stopped; // by stop(), during a spread()
+
+  /** Decides which tiles a spread() goes into: */
+  public interface Spreader {
+    /** True if the fill should go on from tile from into its neighbour to (asked each time to is met until it is entered): */
+    boolean enter(int from, int to);
+  }
+
+  /** Queue starts with room for capacity tiles (it grows if a fill needs more): */
+  public FloodFill(int capacity){
+    queue = new int[Math.max(capacity, 16)];
+  }
+
+  /** Makes find() start from the first tile again: */
+  public void resetCursor(){ cursor = 0; }
+
+  /** Index of the next tile of type, scanning on from the last one found, or -1 if there are none left: */
+  public int find(TileMap map, int type){
+    for (; cursor < map.size(); cursor++){
+      if (map.type(cursor) == type) return cursor;
+    }
+    return -1;
+  }
+
+  /**
+   * Fills tiles of type from connected (up, down, left, right) to start, changing them to type to.
+   * If labels isn't null, each filled tile's entry is set to label. Returns the number of tiles filled:
+   */
+  public int fill(TileMap map, int start, int from, int to, int[] labels, int label){
+    if (map.type(start) != from) return 0;
+    int rows = map.rows();
+    int cols = map.cols();
+    int filled = 0;
+    head = count = 0;
+    map.setType(start, to);
+    push(start);
+    while (count > 0){
+      int t = pop();
+      if (labels != null) labels[t] = label;
+      filled++;
+      int row = t/cols;
+      int col = t%cols;
+      if (col > 0 && map.type(t-1) == from){ map.setType(t-1, to); push(t-1); }
+      if (row > 0 && map.type(t-cols) == from){ map.setType(t-cols, to); push(t-cols); }
+      if (col < cols-1 && map.type(t+1) == from){ map.setType(t+1, to); push(t+1); }
+      if (row < rows-1 && map.type(t+cols) == from){ map.setType(t+cols, to); push(t+cols); }
+    }
+    return filled;
+  }
+
+  /** Fills the run of tiles of type from through start along its row (or column), see lineStart() and lineEnd(): */
+  public int fillLine(TileMap map, int start, boolean horizontal, int from, int to){
+    if (map.type(start) != from) return 0;
+    int cols = map.cols();
+    int step = horizontal? 1 : cols;
+    int row = start/cols;
+    int first = start;
+    int last = start;
+    while (first-step >= 0 && (!horizontal || (first-step)/cols == row) && map.type(first-step) == from) first -= step;
+    while (last+step < map.size() && (!horizontal || (last+step)/cols == row) && map.type(last+step) == from) last += step;
+    for (int t = first; t <= last; t += step) map.setType(t, to);
+    lineStart = first;
+    lineEnd = last;
+    return (last-first)/step + 1;
+  }
+
+  public int lineStart(){ return lineStart; }
+  public int lineEnd(){ return lineEnd; }
+
+  /**
+   * Fills outwards from start (breadth-first, neighbours in the same order as fill()) into every tile
+   * the spreader lets it enter, without changing the map. Returns the number of tiles reached:
+   */
+  public int spread(TileMap map, int start, Spreader spreader){
+    int rows = map.rows();
+    int cols = map.cols();
+    if (reached == null || reached.length < map.size()){
+      reached = new int[map.size()];
+      spreads = 0;
+    }
+    int stamp = ++spreads;
+    int filled = 0;
+    head = count = 0;
+    stopped = false;
+    reached[start] = stamp;
+    push(start);
+    while (count > 0 && !stopped){
+      int t = pop();
+      filled++;
+      int row = t/cols;
+      int col = t%cols;
+      for (int dir = 0; dir < 4; dir++){
+        int n;
+        switch (dir){
+          case 0: if (col == 0) continue; n = t-1; break;
+          case 1: if (row == 0) continue; n = t-cols; break;
+          case 2: if (col == cols-1) continue; n = t+1; break;
+          default: if (row == rows-1) continue; n = t+cols; break;
+        }
+        if (reached[n] == stamp || !spreader.enter(t, n)) continue;
+        reached[n] = stamp;
+        push(n);
+      }
+    }
+    return filled;
+  }
+
+  /** Ends the spread() under way once the tile being filled from is done: */
+  public void stop(){ stopped = true; }
+
+  private void push(int tile){
+    if (count == queue.length){ // full, unwrap into a bigger buffer
+      int[] bigger = new int[queue.length*2];
+      for (int i = 0; i < count; i++) bigger[i] = queue[(head+i) % queue.length];
+      queue = bigger;
+      head = 0;
+    }
+    queue[(head+count) % queue.length] = tile;
+    count++;
+  }
+
+  private int pop(){
+    int tile = queue[head];
+    head = (head+1) % queue.length;
+    count--;
+    return tile;
+  }
+}
@@ -0,0 +1,161 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * FlowField holds the cost of walking from every floor tile to one tile (the player's), found with Dijkstra.
+ * All enemies share it: each just steps to the neighbouring tile with the lowest cost, so chasing costs
+ * the same no matter how many enemies there are. It is only worked out again when the player moves to
+ * another tile or a crate is destroyed, and only out to a maximum cost, so big levels stay cheap.
+ */
+public class FlowField {
+
+  /** Constants: */
+  public static final int STRAIGHT = 10, DIAGONAL = 14; // cost of a step between tiles
+  public static final int CRATE = 10; // extra cost of stepping onto a tile per crate on it
+  private static final int[] DROW = {-1, 1, 0, 0, -1, -1, 1, 1}; // straight neighbours, then diagonals
+  private static final int[] DCOL = {0, 0, -1, 1, -1, 1, -1, 1};
+
+  /** Fields: */
+  private TileMap tiles;
+  private int rows, cols;
+  private int[] crateCount; // crates centred on each tile (a full pile of 4 blocks the tile)
+  private int[] cost; // cost to the origin, valid where reachedStamp == stamp
+  private int[] reachedStamp;
+  private int stamp = 1; // reachedStamp starts at 0, so nothing is reached before the first update
+  private int maxCost; // tiles further than this are left unreached
+  private int originRow = -1, originCol = -1;
+  private boolean dirty = true; // tile costs changed since the last update
+
+  // Dijkstra's queue (binary heap of cost << 32 | tile index):
+  private long[] heap = new long[64];
+  private int heapSize;
+
+  public FlowField(TileMap tiles, ArrayList<Crate> crates, int maxCost){
+    this.tiles = tiles;
+    rows = tiles.rows();
+    cols = tiles.cols();
+    this.maxCost = maxCost;
+    crateCount = new int[rows*cols];
+    cost = new int[rows*cols];
+    reachedStamp = new int[rows*cols];
+    for (Crate c : crates) crateCount[index(c.x(), c.y())]++;
+  }
+
+  private int index(float x, float y){
+    int row = Math.max(0, Math.min(rows-1, (int)(y/World.TILE_SIZE)));
+    int col = Math.max(0, Math.min(cols-1, (int)(x/World.TILE_SIZE)));
+    return row*cols + col;
+  }
+
+  public int cols(){ return cols; }
+  public int maxCost(){ return maxCost; }
+
+  /** Called when a crate is destroyed, so paths can go through where it was: */
+  public void removeCrate(Crate c){
+    crateCount[index(c.x(), c.y())]--;
+    dirty = true;
+  }
+
+  private boolean passable(int row, int col){
+    if (row < 0 || row >= rows || col < 0 || col >= cols) return false;
+    return tiles.type(row, col) == 1 && crateCount[row*cols + col] < 4;
+  }
+
+  /** Works the field out again if the origin (x, y) moved to another tile or crates changed, returns true if it did: */
+  public boolean update(float x, float y){
+    int i = index(x, y);
+    int row = i/cols;
+    int col = i%cols;
+    if (!dirty && row == originRow && col == originCol) return false;
+    originRow = row;
+    originCol = col;
+    dirty = false;
+    stamp++;
+    heapSize = 0;
+    if (!passable(row, col)) return true; // nothing can reach it
+    cost[i] = 0;
+    reachedStamp[i] = stamp;
+    push(i, 0);
+    while (heapSize > 0){
+      long top = pop();
+      int c = (int)(top >>> 32);
+      int t = (int)top;
+      if (c > cost[t]) continue; // already found a cheaper way
+      int tRow = t/cols;
+      int tCol = t%cols;
+      for (int d = 0; d < 8; d++){
+        int nRow = tRow+DROW[d];
+        int nCol = tCol+DCOL[d];
+        if (!passable(nRow, nCol)) continue;
+        if (d >= 4 && !(passable(tRow, nCol) && passable(nRow, tCol))) continue; // no cutting corners
+        int n = nRow*cols + nCol;
+        int nCost = c + ((d < 4)? STRAIGHT : DIAGONAL) + CRATE*crateCount[n];
+        if (nCost > maxCost) continue;
+        if (reachedStamp[n] == stamp && cost[n] <= nCost) continue;
+        cost[n] = nCost;
+        reachedStamp[n] = stamp;
+        push(n, nCost);
+      }
+    }
+    return true;
+  }
+
+  /** Cost to the origin from the tile holding (x, y), or -1 if it can't be reached: */
+  public int cost(float x, float y){
+    int i = index(x, y);
+    return (reachedStamp[i] == stamp)? cost[i] : -1;
+  }
+
+  /** Index (row*cols + col) of the cheapest neighbouring tile to step to from (x, y), or -1 if none is cheaper: */
+  public int next(float x, float y){
+    int i = index(x, y);
+    if (reachedStamp[i] != stamp) return -1;
+    int row = i/cols;
+    int col = i%cols;
+    int best = -1;
+    int bestCost = cost[i];
+    for (int d = 0; d < 8; d++){
+      int nRow = row+DROW[d];
+      int nCol = col+DCOL[d];
+      if (!passable(nRow, nCol)) continue;
+      if (d >= 4 && !(passable(row, nCol) && passable(nRow, col))) continue;
+      int n = nRow*cols + nCol;
+      if (reachedStamp[n] == stamp && cost[n] < bestCost){
+        best = n;
+        bestCost = cost[n];
+      }
+    }
+    return best;
+  }
+
+  private void push(int tile, int c){
+    if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize*2);
+    long key = ((long)c << 32) | tile;
+    int i = heapSize++;
+    while (i > 0){
+      int parent = (i-1)/2;
+      if (heap[parent] <= key) break;
+      heap[i] = heap[parent];
+      i = parent;
+    }
+    heap[i] = key;
+  }
+
+  private long pop(){
+    long top = heap[0];
+    long last = heap[--heapSize];
+    int i = 0;
+    while (true){
+      int child = 2*i+1;
+      if (child >= heapSize) break;
+      if (child+1 < heapSize && heap[child+1] < heap[child]) child++;
+      if (last <= heap[child]) break;
+      heap[i] = heap[child];
+      i = child;
+    }
+    if (heapSize > 0) heap[i] = last;
+    return top;
+  }
+}
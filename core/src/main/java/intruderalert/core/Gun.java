@@ -0,0 +1,28 @@
+package intruderalert.core;
+
+/** 
+ * Gun describes a gun object with specified characteristics.
+ * Guns shoot bullets into the world's bullet pool (see BulletPool):
+ * Weapons are equipped by players and enemies:
+ */
+public abstract class Gun {
+  
+  /** Constants: */
+  protected final float TPS = World.TILE_SIZE/60.0f; // tiles per second
+  
+  /** Fields: */
+  protected String name;
+  protected float damage, speed, inaccuracy, size, force, durability, crateDamage;
+  protected float cooldown, lifespan;
+  protected long lastShotTick;
+  protected boolean bounces;
+  
+  protected float fpt(){ // frames per tile
+    if (speed == 0) return 0;
+    return (60.0f/speed);
+  }
+  
+  public String name(){ return name; }
+  public abstract void shoot(World world, boolean player, Vec2 pos, float direction, float hue);
+  public boolean cooldownOver(long tick){ return (lastShotTick + cooldown < tick); }
+}
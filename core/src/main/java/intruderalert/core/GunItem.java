@@ -0,0 +1,33 @@
+package intruderalert.core;
+
+/**
+ * GunItems are dropped guns lying on the ground, which the player can swap for their own.
+ * Picked-up guns are upgraded versions of the dropped gun.
+ */
+public class GunItem extends Item {
+  
+  /** Fields: */
+  private Gun gun;
+  
+  public GunItem(Vec2 pos, Vec2 speed, Gun gun){
+    float tileSize = World.TILE_SIZE;
+    this.pos = pos;
+    this.speed = speed;
+    range = tileSize;
+    size = tileSize/4.0f;
+    hue = 35;
+    follows = false;
+    
+    String gunName = gun.name();
+    switch(gunName){
+      case "Pistol": this.gun = new Pistol(10, 10, 15); break;
+      case "Shotgun": this.gun = new Shotgun(10, 10, 60); break;
+      case "Assault Rifle": this.gun = new AssaultRifle(5, 12, 7); break;
+      case "Sniper Rifle": this.gun = new SniperRifle(50, 15, 100); break;
+      case "Bouncer": this.gun = new Bouncer(3, 12, 5); break;
+      case "Flame Thrower": this.gun = new FlameThrower(1.5f, 7, 0.5f); break;
+    }
+  }
+  
+  public Gun gun(){ return gun; }
+}
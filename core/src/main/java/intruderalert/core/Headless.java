@@ -0,0 +1,30 @@
+package intruderalert.core;
+
+/**
+ * Entry point for running the game with no window or display, e.g. on a build server:
+ *   java -cp core/target/intruder-alert-core.jar intruderalert.core.Headless [games] [maxTicksPerGame] [--decisions=N] [--seed=N]
+ * Games are simulated by Simulation; nothing is drawn.
+ * "--decisions=N" lets only N enemies decide what to do each tick, e.g. "--decisions=2" to exercise the
+ * scheduler deferring the rest.
+ * "--seed=N" replays the same games (the seed of each run is printed with its results).
+ */
+public class Headless {
+
+  public static void main(String[] args){
+    int games = 100;
+    long maxTicks = 60*60*10; // 10 minutes of play
+    int decisions = -1;
+    Long seed = null;
+    int position = 0;
+    for (String arg : args){
+      if (arg.startsWith("--decisions=")) decisions = Integer.parseInt(arg.substring("--decisions=".length()));
+      else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+      else if (position++ == 0) games = Integer.parseInt(arg);
+      else maxTicks = Long.parseLong(arg);
+    }
+
+    Simulation simulation = (seed != null)? new Simulation(games, maxTicks, seed) : new Simulation(games, maxTicks);
+    if (decisions >= 0) simulation.setDecisionBudget(decisions);
+    simulation.run();
+  }
+}
@@ -0,0 +1,23 @@
+package intruderalert.core;
+
+/**
+ * HealthOrbs follow the player once in range, and heal them on contact.
+ */
+public class HealthOrb extends Item {
+  
+  /** Fields: */
+  private float health;
+  
+  public HealthOrb(Vec2 pos, Vec2 speed, float health){
+    float tileSize = World.TILE_SIZE;
+    this.pos = pos;
+    this.speed = speed;
+    range = tileSize*3;
+    size = tileSize/5.0f + health*(tileSize/25.0f);
+    hue = 100;
+    this.health = health;
+    follows = true;
+  }
+  
+  public float health(){ return health; }
+}
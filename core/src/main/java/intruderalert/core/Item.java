@@ -0,0 +1,44 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * Items are objects that drop from certain events.
+ * HealthOrbs follow the player and add health.
+ * WeaponItems drop on the ground and can be picked up to replace the Player's current weapon.
+ */
+public abstract class Item {
+  
+  /** Fields: */
+  protected Vec2 pos, speed;
+  protected float range, size, hue;
+  protected boolean follows;
+  
+  
+  public Vec2 pos(){ return pos; }
+  public float size(){ return size; }
+  public float hue(){ return hue; }
+  public boolean follows(){ return follows; }
+  public boolean inRange(Vec2 p){
+    boolean inBoundingBox = (pos.x-range <= p.x && p.x <= pos.x+range) && (pos.y-range <= p.y && p.y <= pos.y+range);
+    if (!inBoundingBox) return false;
+    return (dist(pos.x, pos.y, p.x, p.y) <= range);
+  }
+  public boolean touchingCharacter(Character c){
+    return (c.left() <= pos.x && pos.x <= c.right()) && (c.top() <= pos.y && pos.y <= c.bottom());
+  }
+  public void follow(Vec2 p){
+    float direction = atan2(p.y-pos.y, p.x-pos.x);
+    float magnitude = 1-dist(pos.x, pos.y, p.x, p.y)/range;
+    magnitude *= 4;
+    if (magnitude <= 0) return;
+    pos.add(magnitude*cos(direction), magnitude*sin(direction));
+  }
+  public void updateItem(){ 
+    pos.add(speed);
+    // Apply friction:
+    speed.mult(0.9f);
+    if (speed.x < 0.1f) speed.set(0, speed.y);
+    if (speed.y < 0.1f) speed.set(speed.x, 0);
+  }
+}
@@ -0,0 +1,838 @@
+package intruderalert.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Level objects describe a randomly generated level containing rooms, passages, walls, and contents
+ * including crates and enemies.
+ */
+public class Level {
+  
+  /** Constants: */
+  public static final int ROWS = 25, COLS = 41; // size of a normal level
+  public static final int GENERATOR_VERSION = 2; // bump whenever a seed would generate a different level (see LevelCache)
+  private static final int STAGES = 9; // run by generate()
+  
+  /** Fields: */
+  private int levelNum;
+  private long seed;
+  private volatile int stagesDone; // by generate(), read from other threads
+  private RandomStream rng; // all of this level's random numbers come from here, so it can be generated on any thread
+  
+  // Tile-Map:
+  private TileMap tiles; // 0 is empty, 1 is floor, 2 is wall
+  private int tRows;
+  private int tCols;
+  private TileMap scratch; // copy of tiles for stages to use up as they go
+  private FloodFill floodFill; // shared by the stages (allocated once per level)
+  
+  // Rooms:
+  private ArrayList<Room> rooms = new ArrayList<Room>();
+  private Room spawnRoom;
+  private SummedAreaTable floorSums; // floor placed so far, for room overlap tests
+  private int[] freeCells, freeSlot; // dense placement: odd cells not yet floor (and where each is in the list, or -1)
+  private int numFree;
+  
+  // Passages:
+  private int numUncarved; // cells (odd row and col) still empty
+  private int uncarvedCursor; // odd cell (in row order) findUncarvedPassage() carries on from
+  
+  // Work done by the last run of the passage and dead-end stages:
+  private long passageWork, deadEndWork;
+  
+  // Walls:
+  private ArrayList<Wall> walls = new ArrayList<Wall>();
+  private int[] wallIds; // index (into walls) of the wall on each tile, or -1
+  private WallMap wallMap;
+  
+  // Player:
+  private float playerX, playerY;
+  
+  // Enemies:
+  private ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+  
+  // Crates:
+  private ArrayList<Crate> crates = new ArrayList<Crate>();
+  private ArrayList<Crate>[][] crateMap;
+  
+  // Line of sight:
+  private SightGrid sightGrid;
+  
+  /** Level generated from seed (the same seed always gives the same level): */
+  public Level(int num, long seed){
+    this(num, ROWS, COLS, seed, true);
+  }
+  
+  /** Level with a grid of the given size, if generate is false the stages below can be run one at a time (or all with generate()): */
+  public Level(int num, int rows, int cols, long seed, boolean generate){
+    levelNum = num;
+    this.seed = seed;
+    rng = new RandomStream(seed);
+    if (generate) generate(rows, cols);
+  }
+  
+  /** Runs every stage, counting them off (see progress()) so another thread can show how far it has got: */
+  public void generate(int rows, int cols){
+    
+    // Generate random level layout:
+    generateTiles(rows, cols); // creats grid of specified size (must be multiple of 4 + 1)
+    stagesDone = 1;
+    generateRooms(roomAttempts(rows, cols)); // number of attempts to place rooms
+    stagesDone = 2;
+    generatePassages(); // uses maze-generation algorithm to create passages outside rooms
+    stagesDone = 3;
+    connectRegions(); // connects passages and rooms until everything is connected
+    stagesDone = 4;
+    removeDeadEnds(); // remove passages that lead nowhere
+    stagesDone = 5;
+    defineWalls(); // turn walls into big rectangles for efficiency with collision checks
+    stagesDone = 6;
+    fillWallMap(); // records the walls near each tile
+    stagesDone = 7;
+    
+    // Generate enemies, crates and items:
+    generateContents(); // generates crates and enemies
+    stagesDone = 8;
+    fillSightGrid(); // records the walls and crates that block line of sight
+    stagesDone = STAGES;
+  }
+  
+  /** Fraction of generate()'s stages done (0 to 1): */
+  public float progress(){ return stagesDone/(float)STAGES; }
+  
+  /** 100 attempts for the normal 25x41 grid, more for bigger grids so they are just as full of rooms: */
+  public static int roomAttempts(int rows, int cols){
+    return Math.max(100, (int)(100L*rows*cols/(25*41)));
+  }
+  
+  public int num(){ return levelNum; }
+  public long seed(){ return seed; }
+  public TileMap tiles(){ return tiles; }
+  public ArrayList<Room> rooms(){ return rooms; }
+  public Room spawnRoom(){ return spawnRoom; }
+  public ArrayList<Wall> walls(){ return walls; }
+  public WallMap wallMap(){ return wallMap; }
+  public ArrayList<Crate> crates(){ return crates; }
+  public ArrayList<Crate>[][] crateMap(){ return crateMap; }
+  public SightGrid sightGrid(){ return sightGrid; }
+  
+  /** Random float from low up to (but not including) high, from this level's stream: */
+  private float random(float low, float high){ return rng.random(low, high); }
+  
+  public float playerX(){ return playerX; }
+  public float playerY(){ return playerY; }
+  public void setPlayerPos(float x, float y){
+    playerX = x;
+    playerY = y; 
+  }
+  public ArrayList<Enemy> enemies(){ return enemies; }
+  
+  /** Fills tile-map with empty space (0's): */
+  public void generateTiles(int rows, int cols){
+    
+    if (rows % 2 == 0) rows++; // must both be odd
+    if (cols % 2 == 0) cols++;
+    allocateTiles(rows, cols);
+    tiles.randomiseBrightness(rng);
+  }
+  
+  private void allocateTiles(int rows, int cols){
+    tiles = new TileMap(rows, cols);
+    scratch = new TileMap(rows, cols);
+    floodFill = new FloodFill(2*(rows+cols));
+    this.tRows = rows;
+    this.tCols = cols;
+  }
+  
+  /** Adds rectangles of floor tiles (1's): */
+  public void generateRooms(int attempts){
+    generateRooms(attempts, false);
+  }
+  
+  /** Same as above, if dense then rooms are only tried at centres that aren't floor yet, until the level is full: */
+  public void generateRooms(int attempts, boolean dense){
+    floorSums = new SummedAreaTable(tiles, 1);
+    
+    // Create 5x5 spawn room:
+    int size = 5;
+    Vec2 centre = generateRoomCentre(size*3, size*3);
+    spawnRoom = addRoom(centre, size, size);
+    Vec2 spawnPos = spawnRoom.centrePos();
+    playerX = spawnPos.x;
+    playerY = spawnPos.y;
+    
+    // Free odd cells (possible room centres) for dense placement:
+    if (dense){
+      freeCells = new int[tiles.size()];
+      freeSlot = new int[tiles.size()];
+      Arrays.fill(freeSlot, -1);
+      numFree = 0;
+      for (int row = 1; row < tRows; row += 2){
+        for (int col = 1; col < tCols; col += 2){
+          int i = tiles.index(row, col);
+          if (tiles.type(i) == 1) continue;
+          freeSlot[i] = numFree;
+          freeCells[numFree++] = i;
+        }
+      }
+    }
+    
+    int passes = 0;
+    int fails = 0;
+    int maxFails = dense? Math.max(500, attempts) : 500;
+    while (passes < attempts && fails < maxFails){
+      
+      // Generate random room size and position:
+      int rows = (int)(random(1, 4))*4 + 1;
+      if (rows % 2 == 0) rows++;
+      int cols = (int)(random(1, 4))*4 + 1;
+      if (cols % 2 == 0) cols++;
+      
+      if (dense){
+        if (numFree == 0) break; // full
+        centre = freeRoomCentre(rows, cols);
+      }
+      else centre = generateRoomCentre(rows, cols);
+      if (centre != null && !roomOverlapping(centre, rows, cols)){
+        addRoom(centre, rows, cols);
+        passes++;
+      }
+      else fails++;
+    }
+    freeCells = freeSlot = null;
+  }
+  
+  /** Generates a random position within the level with odd coords (within edges of map): */
+  public Vec2 generateRoomCentre(int rows, int cols){
+    
+    int rowBoundary = (int)(rows/2.0f) + 1;
+    int colBoundary = (int)(cols/2.0f) + 1;
+    
+    int row = (int)random(rowBoundary, tRows-rowBoundary);
+    if (row % 2 == 0) row--;
+    int col = (int)random(colBoundary, tCols-colBoundary);
+    if (col % 2 == 0) col--;
+    
+    return new Vec2(col, row);
+  }
+  
+  /** Random free odd cell to centre a room on, or null if the room wouldn't fit within the edges of the map there: */
+  public Vec2 freeRoomCentre(int rows, int cols){
+    int i = freeCells[(int)random(0, numFree)];
+    int row = tiles.row(i);
+    int col = tiles.col(i);
+    int rowBoundary = (int)(rows/2.0f) + 1;
+    int colBoundary = (int)(cols/2.0f) + 1;
+    if (row < rowBoundary || row >= tRows-rowBoundary || col < colBoundary || col >= tCols-colBoundary) return null;
+    return new Vec2(col, row);
+  }
+  
+  /** Four reads of the summed-area table (plus the few rooms added since it was built): */
+  public boolean roomOverlapping(Vec2 centre, int rows, int cols){
+    int centreRow = (int)centre.y;
+    int centreCol = (int)centre.x;
+    int rowRad = (int)(rows/2.0f);
+    int colRad = (int)(cols/2.0f);
+    return floorSums.any(centreRow-rowRad, centreCol-colRad, centreRow+rowRad, centreCol+colRad);
+  }
+  
+  public Room addRoom(Vec2 centre, int rows, int cols){
+    int centreRow = (int)centre.y;
+    int centreCol = (int)centre.x;
+    int rowRad = (int)(rows/2.0f);
+    int colRad = (int)(cols/2.0f);
+    
+    for (int row = centreRow-rowRad; row <= centreRow+rowRad; row++){
+      for (int col = centreCol-colRad; col <= centreCol+colRad; col++){
+        tiles.setType(row, col, 1);
+        if (freeCells != null) removeFreeCell(tiles.index(row, col));
+      }
+    }
+    if (floorSums != null) floorSums.filled(centreRow-rowRad, centreCol-colRad, centreRow+rowRad, centreCol+colRad);
+    
+    Room room = new Room(centreRow, centreCol, rowRad, colRad);
+    rooms.add(room);
+    return room;
+  }
+  
+  /** Swaps the last free cell into i's place: */
+  private void removeFreeCell(int i){
+    int slot = freeSlot[i];
+    if (slot < 0) return;
+    int last = freeCells[--numFree];
+    freeCells[slot] = last;
+    freeSlot[last] = slot;
+    freeSlot[i] = -1;
+  }
+  
+  public void generatePassages(){
+    ArrayDeque<Vec2> nextToUncarved = new ArrayDeque<Vec2>();
+    
+    // Uncarved cells (odd row and col, still empty) are counted here and found with a cursor that only moves
+    // forwards, as cells are never uncarved again, so finding them all costs one pass over the map:
+    numUncarved = 0;
+    for (int row = 1; row < tRows; row += 2){
+      for (int col = 1; col < tCols; col += 2){
+        if (tiles.type(row, col) == 0) numUncarved++;
+      }
+    }
+    uncarvedCursor = 0;
+    passageWork = 0;
+    
+    Vec2 start = spawnRoom.centreTile();
+    int tries = 0;
+    while (tries < 10){
+      int row = (int)start.y;
+      int col = (int)start.x;
+      int dir = (int)random(0, 4);
+      switch (dir){
+        case 0: col -= 4; break;
+        case 1: row -= 4; break;
+        case 2: col += 4; break;
+        case 3: row += 4; break;
+      }
+      passageWork++;
+      if (canBeCarved(row, col)){
+        nextToUncarved.addLast(carvePassage((int)start.y, (int)start.x, row, col));
+        start.set(col, row);
+        break;
+      }
+      tries++;
+    }
+    
+    while (true){
+      int lastDir = -1;
+      while (!nextToUncarved.isEmpty()){
+        start = nextToUncarved.peekFirst();
+        tries = 0;
+        while (tries < 10){
+          int row = (int)start.y;
+          int col = (int)start.x;
+          int dir;
+          dir = (lastDir == -1 || (int)random(0, 2) == 0)? (int)random(0, 4) : lastDir;
+          switch (dir){
+            case 0: col -= 2; break;
+            case 1: row -= 2; break;
+            case 2: col += 2; break;
+            case 3: row += 2; break;
+          }
+          lastDir = dir;
+          passageWork++;
+          if (canBeCarved(row, col)){
+            nextToUncarved.addLast(carvePassage((int)start.y, (int)start.x, row, col));
+            start.set(col, row);
+            break;
+          }
+          lastDir = -1; // direction failed
+          tries++;
+        }
+        if (canBeCarved((int)start.y, (int)start.x)){
+          carvePassage((int)start.y, (int)start.x, (int)start.y, (int)start.x);
+        }
+        if (tries == 10){
+          nextToUncarved.pollFirst();
+        }
+      }
+      if (filledWithPassages()) break;
+      else nextToUncarved.addLast(findUncarvedPassage());
+    }
+  }
+  
+  public Vec2 carvePassage(int sRow, int sCol, int eRow, int eCol){
+    if (eRow-sRow == 0){
+      for (int col = (sCol<eCol)? sCol : eCol; col <= ((sCol>eCol)? sCol : eCol); col++){
+        carve(sRow, col);
+      }
+    }
+    else {
+      for (int row = (sRow<eRow)? sRow : eRow; row <= ((sRow>eRow)? sRow : eRow); row++){
+        carve(row, sCol);
+      }
+    }
+    return new Vec2(eCol, eRow);
+  }
+  
+  /** Makes a tile floor, counting it off if it was an uncarved cell: */
+  private void carve(int row, int col){
+    if (row % 2 == 1 && col % 2 == 1 && tiles.type(row, col) == 0) numUncarved--;
+    tiles.setType(row, col, 1);
+  }
+  
+  public boolean canBeCarved(int row, int col){
+    boolean withinMap = ((0 <= row && row < tRows) && (0 <= col && col < tCols));
+    if (!withinMap) return false;
+    boolean notCarved = tiles.type(row, col) == 0;
+    return notCarved;
+  }
+  
+  public boolean filledWithPassages(){
+    return numUncarved <= 0;
+  }
+  
+  /** First uncarved cell (in row order), carrying on from the last one found: */
+  public Vec2 findUncarvedPassage(){
+    int oddCols = tCols/2;
+    for (; uncarvedCursor < (tRows/2)*oddCols; uncarvedCursor++){
+      int row = (uncarvedCursor/oddCols)*2 + 1;
+      int col = (uncarvedCursor%oddCols)*2 + 1;
+      passageWork++;
+      if (tiles.type(row, col) == 0) return new Vec2(col, row);
+    }
+    return null;
+  }
+  
+  /** Tiles looked at by the last generatePassages() (tries to carve, plus cells scanned for uncarved ones): */
+  public long passageWork(){ return passageWork; }
+  
+  public void connectRegions(){
+    // Label every region (disconnected section of tilemap) with an id.
+    // Flood-fill outwards from the spawn room, through everything connected to it so far.
+    // When the fill reaches an empty tile with an unconnected region on the other side, carve it as a connector
+    // and carry on (into that region too). This is the order of starting the fill again from spawn after every
+    // connection, so the nearest region is always connected next.
+    // Stop when all regions are connected.
+    
+    final int[] regionIds = new int[tiles.size()];
+    final int numOfRegions = labelRegions(regionIds);
+    if (numOfRegions <= 1) return;
+    
+    final boolean[] connected = new boolean[numOfRegions+1]; // by region id
+    Vec2 centre = spawnRoom.centreTile();
+    int start = tiles.index((int)centre.y, (int)centre.x);
+    connected[regionIds[start]] = true;
+    
+    floodFill.spread(tiles, start, new FloodFill.Spreader(){
+      int joins = 0;
+      public boolean enter(int from, int to){
+        int row = tiles.row(to);
+        int col = tiles.col(to);
+        if (row < 1 || row >= tRows-1 || col < 1 || col >= tCols-1) return false;
+        if (tiles.type(to) == 1) return true;
+        if (tiles.type(to) != 0) return false;
+        int region = regionIds[tiles.index(2*row-tiles.row(from), 2*col-tiles.col(from))]; // on the other side
+        if (region == 0 || connected[region]) return false;
+        tiles.setType(to, 1); // carve door/connector
+        connected[region] = true;
+        if (++joins == numOfRegions-1) floodFill.stop(); // all connected
+        return true;
+      }
+    });
+  }
+  
+  /** Flood-fills each region of floor tiles with an id (1, 2, ...), other tiles get 0, returns the number of regions: */
+  public int labelRegions(int[] regionIds){
+    scratch.copyFrom(tiles); // floor tiles are turned into 0's as regions are filled
+    floodFill.resetCursor();
+    int numOfRegions = 0;
+    for (int start = floodFill.find(scratch, 1); start >= 0; start = floodFill.find(scratch, 1)){
+      numOfRegions++;
+      floodFill.fill(scratch, start, 1, 0, regionIds, numOfRegions);
+    }
+    return numOfRegions;
+  }
+  
+  /** Fills dead ends (floor with one exit or none) back in, until there are none: */
+  public void removeDeadEnds(){
+    // Worklist of tiles that might be dead ends, seeded once with every dead end on the map.
+    // Filling one in can only make its neighbours dead ends, so only they are queued again.
+    // The tiles filled don't depend on the order, so this gives the same level as repeated full passes.
+    int[] worklist = new int[64];
+    int size = 0;
+    deadEndWork = 0;
+    for (int i = 0; i < tiles.size(); i++){
+      deadEndWork++;
+      if (tiles.type(i) == 1 && floorExits(i) <= 1){
+        if (size == worklist.length) worklist = Arrays.copyOf(worklist, size*2);
+        worklist[size++] = i;
+      }
+    }
+    
+    while (size > 0){
+      int t = worklist[--size];
+      deadEndWork++;
+      if (tiles.type(t) != 1 || floorExits(t) > 1) continue; // already filled, or queued before a neighbour was
+      tiles.setType(t, 0);
+      
+      int row = tiles.row(t);
+      int col = tiles.col(t);
+      for (int dir = 0; dir < 4; dir++){
+        int r = row;
+        int c = col;
+        switch (dir){
+          case 0: c--; break;
+          case 1: r--; break;
+          case 2: c++; break;
+          case 3: r++; break;
+        }
+        if (!tiles.inBounds(r, c) || tiles.type(r, c) != 1) continue;
+        if (size == worklist.length) worklist = Arrays.copyOf(worklist, size*2);
+        worklist[size++] = tiles.index(r, c);
+      }
+    }
+  }
+  
+  /** Number of floor tiles up, down, left and right of tile i: */
+  private int floorExits(int i){
+    int row = tiles.row(i);
+    int col = tiles.col(i);
+    int exits = 0;
+    if (col > 0 && tiles.type(i-1) == 1) exits++;
+    if (row > 0 && tiles.type(i-tCols) == 1) exits++;
+    if (col < tCols-1 && tiles.type(i+1) == 1) exits++;
+    if (row < tRows-1 && tiles.type(i+tCols) == 1) exits++;
+    return exits;
+  }
+  
+  /** Tiles looked at by the last removeDeadEnds() (the seeding pass, plus each one taken off the worklist): */
+  public long deadEndWork(){ return deadEndWork; }
+  
+  public void defineWalls(){
+    // Convert every empty space (type 0) touching a floor tile to a wall tile (type 2).
+    // Join wall tiles together into rectangles to form wall objects.
+    // This makes it so the game requires less collision checks.
+    
+    for (int row = 0; row < tRows; row++){
+      for (int col = 0; col < tCols; col++){
+        if ((tiles.type(row, col) == 0) && (tileTouchingType(row, col, 1))){
+          tiles.setType(row, col, 2);
+        }
+      }
+    }
+    
+    // Make copy where wall tiles are removed as wall objects are made:
+    scratch.copyFrom(tiles);
+    
+    // Start at the first wall tile left (in row order).
+    // Extend right as far as the wall tiles go, then down while the whole row below is wall tiles.
+    // Remove wall tiles as they are covered.
+    // Loop until no more wall tiles (type 2).
+    
+    wallIds = new int[tiles.size()];
+    Arrays.fill(wallIds, -1);
+    floodFill.resetCursor();
+    for (int start = floodFill.find(scratch, 2); start >= 0; start = floodFill.find(scratch, 2)){
+      int top = tiles.row(start);
+      int left = tiles.col(start);
+      
+      int right = left;
+      while (right+1 < tCols && scratch.type(top, right+1) == 2) right++;
+      int bottom = top;
+      while (bottom+1 < tRows && rowOfType(scratch, bottom+1, left, right, 2)) bottom++;
+      
+      for (int row = top; row <= bottom; row++){
+        for (int col = left; col <= right; col++){
+          scratch.setType(row, col, 0);
+          wallIds[tiles.index(row, col)] = walls.size(); // stamp the wall being made
+        }
+      }
+      walls.add(new Wall(top, left, bottom, right));
+    }
+  }
+  
+  /**
+   * Number of walls there would be if wall tiles were only joined into lines 1 tile thick (as they used to be),
+   * to compare with walls().size() after defineWalls(). Worked out when asked, so generation doesn't pay for it:
+   */
+  public int stripWallCount(){
+    scratch.copyFrom(tiles);
+    floodFill.resetCursor();
+    int count = 0;
+    for (int start = floodFill.find(scratch, 2); start >= 0; start = floodFill.find(scratch, 2)){
+      int row = tiles.row(start);
+      int col = tiles.col(start);
+      boolean horizontal = (col-1 >= 0 && scratch.type(row, col-1) == 2) || (col+1 < tCols && scratch.type(row, col+1) == 2);
+      floodFill.fillLine(scratch, start, horizontal, 2, 0);
+      count++;
+    }
+    return count;
+  }
+  
+  /** True if the tiles of map from left to right (inclusive) along row are all of type: */
+  private static boolean rowOfType(TileMap map, int row, int left, int right, int type){
+    for (int col = left; col <= right; col++){
+      if (map.type(row, col) != type) return false;
+    }
+    return true;
+  }
+  
+  /** Returns true if the tile at row, col is touching a tile of type: */
+  public boolean tileTouchingType(int row, int col, int type){
+    for (int dir = 0; dir < 8; dir++){
+      int r = row;
+      int c = col;
+      switch (dir){
+        case 0: r++;
+        case 1: c--; break;
+        case 2: c--;
+        case 3: r--; break;
+        case 4: r--;
+        case 5: c++; break;
+        case 6: c++;
+        case 7: r++; break;
+      }
+      if (r < 0 || r >= tRows || c < 0 || c >= tCols) continue;
+      if (tiles.type(r, c) == type) return true;
+    }
+    return false;
+  }
+  
+  /** Records the walls near each tile, from the wall-id grid stamped by defineWalls(): */
+  public void fillWallMap(){
+    wallMap = new WallMap(tiles, walls, wallIds);
+  }
+  
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void generateContents(){
+    // Get all room floor tiles:
+    ArrayList<Integer> floorTiles = new ArrayList<Integer>(); // tile indices
+    for (int row = 0; row < tRows; row++){
+      for (int col = 0; col < tCols; col++){
+        // If tile is type 1 (floor) and in room:
+        if (tiles.type(row, col) != 1) continue;
+        boolean inRoom = false;
+        for (Room r : rooms){
+          if (r == spawnRoom) continue; // so they don't spawn in player spawn room
+          if (r.isRoomTile(row, col)){
+            inRoom = true;
+            break;
+          }
+        }
+        if (inRoom) floorTiles.add(tiles.index(row, col));
+      }
+    }
+    float tileSize = World.TILE_SIZE;
+    
+    // Spawn piles of crates on random room floor tiles:
+    crateMap = new ArrayList[tRows][tCols];
+    int numOfCratePiles = 15;
+    for (int i = 0; i < numOfCratePiles; i++){
+      int index = (int)random(0, floorTiles.size());
+      int t = floorTiles.remove(index);
+      int tRow = tiles.row(t);
+      int tCol = tiles.col(t);
+      float shift = tileSize/4.0f;
+      float size = tileSize/2.0f;
+      for (int corner = 0; corner < 4; corner++){
+        float x = tCol*tileSize + tileSize/2.0f;
+        float y = tRow*tileSize + tileSize/2.0f;
+        switch (corner){
+          case 0: x -= shift; y -= shift; break;
+          case 1: x += shift; y -= shift; break;
+          case 2: x += shift; y += shift; break;
+          case 3: x -= shift; y += shift; break;
+        }
+        boolean explosive = (int)random(0, 20) == 0;
+        addCrate(new Crate(new Vec2(x, y), size, explosive), tRow, tCol);
+      }
+    }
+    
+    // Spawn explosive crates alone:
+    int numOfExplosiveCrates = 5 + levelNum;
+    for (int i = 0; i < numOfExplosiveCrates; i++){
+      int index = (int)random(0, floorTiles.size());
+      int t = floorTiles.remove(index);
+      int tRow = tiles.row(t);
+      int tCol = tiles.col(t);
+      float shift = tileSize/4.0f;
+      float size = tileSize/2.0f;
+      int corner = (int)random(0, 4);
+      float x = tCol*tileSize + tileSize/2.0f;
+      float y = tRow*tileSize + tileSize/2.0f;
+      switch (corner){
+        case 0: x -= shift; y -= shift; break;
+        case 1: x += shift; y -= shift; break;
+        case 2: x += shift; y += shift; break;
+        case 3: x -= shift; y += shift; break;
+      }
+      addCrate(new Crate(new Vec2(x, y), size, true), tRow, tCol);
+    }
+    
+    // Spawn enemies on random room floor tiles:
+    int numOfEnemies = 10+(2*levelNum);
+    for (int i = 0; i < numOfEnemies; i++){
+      int index = (int)random(0, floorTiles.size());
+      int t = floorTiles.remove(index);
+      int tRow = tiles.row(t);
+      int tCol = tiles.col(t);
+      float x = tCol*tileSize + tileSize/2.0f;
+      float y = tRow*tileSize + tileSize/2.0f;
+      int gunKind = (int)random(0, 10); // 0 to 4 are special guns, the rest pistols
+      //gunKind = 4;
+      addEnemy(x, y, gunKind);
+    }
+  }
+  
+  /** Adds an enemy at (x, y) with the gun of gunKind (see gunKind()): */
+  private void addEnemy(float x, float y, int gunKind){
+    float tileSize = World.TILE_SIZE;
+    Gun gun = new Pistol();
+    switch (gunKind){
+      case 0: gun = new Shotgun(); break;
+      case 1: gun = new AssaultRifle(); break;
+      case 2: gun = new SniperRifle(); break;
+      case 3: gun = new Bouncer(); break;
+      case 4: gun = new FlameThrower(); break;
+    }
+    enemies.add(new Enemy(new Vec2(x, y), 20 + 5*levelNum, tileSize/2.0f, 3, 15*tileSize, gun));
+    //enemies.add(new Enemy(new Vec2(x, y), 1, tileSize/2.0f, 3, 15*tileSize, gun)); // for debugging
+  }
+  
+  /** Number addEnemy() gives a gun by: */
+  private static int gunKind(Gun gun){
+    if (gun instanceof Shotgun) return 0;
+    if (gun instanceof AssaultRifle) return 1;
+    if (gun instanceof SniperRifle) return 2;
+    if (gun instanceof Bouncer) return 3;
+    if (gun instanceof FlameThrower) return 4;
+    return 5; // pistol
+  }
+  
+  public void fillSightGrid(){
+    sightGrid = new SightGrid(tiles, crates);
+  }
+  
+  /** Adds a crate on tile (tRow, tCol) to the crate list, and to the crate map on that tile and the 8 around it: */
+  private void addCrate(Crate crate, int tRow, int tCol){
+    crate.setIndex(crates.size());
+    crates.add(crate);
+    for (int r = -1; r <= 1; r++){
+      for (int c = -1; c <= 1; c++){
+        int row = tRow+r;
+        int col = tCol+c;
+        if (row < 0 || row >= tRows || col < 0 || col >= tCols) continue;
+        if (crateMap[row][col] == null) crateMap[row][col] = new ArrayList<Crate>();
+        crateMap[row][col].add(crate);
+        crate.addCell(tiles.index(row, col));
+      }
+    }
+  }
+  
+  /** Removes a destroyed crate, moving the last crate in the list into its place: */
+  public void removeCrate(Crate c){
+    int i = c.index();
+    if (i < 0 || crates.get(i) != c) return; // not in the list
+    Crate last = crates.remove(crates.size()-1);
+    if (last != c){
+      crates.set(i, last);
+      last.setIndex(i);
+    }
+    c.setIndex(-1);
+    removeFromCrateMap(c);
+  }
+  
+  /** Removes a crate from only the crate-map tiles it was added to: */
+  public void removeFromCrateMap(Crate c){
+    if (sightGrid != null) sightGrid.setCrate(c, false);
+    for (int i = 0; i < c.numCells(); i++){
+      int t = c.cell(i);
+      ArrayList<Crate> cratesOnTile = crateMap[tiles.row(t)][tiles.col(t)];
+      if (cratesOnTile != null) cratesOnTile.remove(c);
+    }
+    c.clearCells();
+  }
+  
+  /** Bytes write() takes: */
+  public int serializedSize(){
+    return 2*4 + 2*4 + tiles.size() + 4 + rooms.size()*4*4 + 4 + 4 + walls.size()*4*4 + 4 + crates.size()*(3*4 + 1) + 4 + enemies.size()*(2*4 + 1);
+  }
+  
+  /**
+   * Writes a freshly generated level: its tiles, rooms (and which is the spawn room), walls, crates, enemies and spawn point.
+   * Everything else (wall map, crate map, sight grid) is worked out from those by read():
+   */
+  public void write(ByteBuffer out){
+    out.putInt(tRows);
+    out.putInt(tCols);
+    out.putFloat(playerX);
+    out.putFloat(playerY);
+    tiles.write(out);
+    
+    out.putInt(rooms.size());
+    for (Room r : rooms){
+      out.putInt(r.topRow());
+      out.putInt(r.leftCol());
+      out.putInt(r.bottomRow());
+      out.putInt(r.rightCol());
+    }
+    out.putInt(rooms.indexOf(spawnRoom));
+    
+    out.putInt(walls.size());
+    for (Wall w : walls){
+      out.putInt(w.topRow());
+      out.putInt(w.leftCol());
+      out.putInt(w.bottomRow());
+      out.putInt(w.rightCol());
+    }
+    
+    out.putInt(crates.size());
+    for (Crate c : crates){
+      out.putFloat(c.x());
+      out.putFloat(c.y());
+      out.putFloat(c.size());
+      out.put((byte)(c.explosive()? 1 : 0));
+    }
+    
+    out.putInt(enemies.size());
+    for (Enemy e : enemies){
+      out.putFloat(e.x());
+      out.putFloat(e.y());
+      out.put((byte)gunKind(e.equippedGun()));
+    }
+  }
+  
+  /** Fills this (not generated) level in from what write() wrote, instead of generating it: */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void read(ByteBuffer in){
+    allocateTiles(in.getInt(), in.getInt());
+    playerX = in.getFloat();
+    playerY = in.getFloat();
+    tiles.read(in);
+    
+    int numOfRooms = in.getInt();
+    for (int i = 0; i < numOfRooms; i++){
+      int top = in.getInt();
+      int left = in.getInt();
+      int bottom = in.getInt();
+      int right = in.getInt();
+      rooms.add(new Room((top+bottom)/2, (left+right)/2, (bottom-top)/2, (right-left)/2)); // rooms are an odd number of tiles across
+    }
+    int spawn = in.getInt();
+    spawnRoom = (spawn >= 0)? rooms.get(spawn) : null;
+    
+    int numOfWalls = in.getInt();
+    wallIds = new int[tiles.size()];
+    Arrays.fill(wallIds, -1);
+    for (int i = 0; i < numOfWalls; i++){
+      Wall w = new Wall(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+      for (int row = w.topRow(); row <= w.bottomRow(); row++){
+        for (int col = w.leftCol(); col <= w.rightCol(); col++) wallIds[tiles.index(row, col)] = walls.size();
+      }
+      walls.add(w);
+    }
+    fillWallMap();
+    
+    int numOfCrates = in.getInt();
+    crateMap = new ArrayList[tRows][tCols];
+    float tileSize = World.TILE_SIZE;
+    for (int i = 0; i < numOfCrates; i++){
+      float x = in.getFloat();
+      float y = in.getFloat();
+      float size = in.getFloat();
+      boolean explosive = (in.get() != 0);
+      addCrate(new Crate(new Vec2(x, y), size, explosive), (int)(y/tileSize), (int)(x/tileSize));
+    }
+    
+    int numOfEnemies = in.getInt();
+    for (int i = 0; i < numOfEnemies; i++){
+      float x = in.getFloat();
+      float y = in.getFloat();
+      addEnemy(x, y, in.get());
+    }
+    
+    fillSightGrid();
+    stagesDone = STAGES;
+  }
+}
@@ -0,0 +1,149 @@
+package intruderalert.core;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * LevelCache keeps generated levels on disk, one file per level, named by the level's number, seed,
+ * and Level.GENERATOR_VERSION (so a generator change never loads a stale level). The body of a file is read
+ * through a memory map (on Windows a mapped file can't be deleted until the map is collected, so prune() may
+ * leave one behind until a later save). The cache is only a speed-up:
+ * anything missing, unreadable, or damaged is generated again. It keeps at most maxFiles levels, deleting
+ * the least recently used past that (files from an older generator or format are never used again, so go first).
+ *
+ * File layout (big-endian): MAGIC, FORMAT_VERSION, GENERATOR_VERSION, number, seed, body length, CRC-32 of body,
+ * then the body written by Level.write().
+ */
+public class LevelCache {
+
+  /** Constants: */
+  private static final int MAGIC = 0x49414C56; // "IALV"
+  private static final int FORMAT_VERSION = 2; // bump if the header or Level.write() changes (2: rooms added)
+  private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 8 + 4 + 8;
+
+  /** Fields: */
+  private File dir;
+  private int maxFiles = 100; // levels kept on disk (a run has 10)
+  private AtomicInteger hits = new AtomicInteger(), misses = new AtomicInteger(); // loads, counted from the generator's worker threads
+
+  public LevelCache(File dir){
+    this.dir = dir;
+  }
+
+  public File dir(){ return dir; }
+  public int hits(){ return hits.get(); }
+  public int misses(){ return misses.get(); }
+  public void setMaxFiles(int maxFiles){ this.maxFiles = maxFiles; }
+
+  private File file(int num, long seed){
+    return new File(dir, String.format("level-g%d-f%d-%d-%016x.bin", Level.GENERATOR_VERSION, FORMAT_VERSION, num, seed));
+  }
+
+  /** Level num generated from seed, read from disk, or null if it isn't cached (or the file is damaged): */
+  public Level load(int num, long seed){
+    File f = file(num, seed);
+    if (!f.isFile()){
+      misses.incrementAndGet();
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)){
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      if (!readFully(channel, header) || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION
+          || header.getInt() != Level.GENERATOR_VERSION || header.getInt() != num || header.getLong() != seed){
+        misses.incrementAndGet();
+        return null;
+      }
+      int length = header.getInt();
+      long crc = header.getLong();
+      if (length < 0 || length != channel.size()-HEADER_SIZE){
+        misses.incrementAndGet();
+        return null;
+      }
+      MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length);
+      if (crc != crc(in.duplicate())){
+        misses.incrementAndGet();
+        return null;
+      }
+      Level level = new Level(num, Level.ROWS, Level.COLS, seed, false);
+      level.read(in);
+      f.setLastModified(System.currentTimeMillis()); // recently used, pruned last
+      hits.incrementAndGet();
+      return level;
+    }
+    catch (IOException | RuntimeException e){ // unreadable or damaged, generate it again
+      misses.incrementAndGet();
+      return null;
+    }
+  }
+
+  /** Fills buffer from the channel and flips it, returns false if the file ends first: */
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()){
+      if (channel.read(buffer) < 0) return false;
+    }
+    buffer.flip();
+    return true;
+  }
+
+  /** Writes a freshly generated level to disk (through a temporary file, so readers never see half of one): */
+  public void save(Level level){
+    ByteBuffer body = ByteBuffer.allocate(level.serializedSize());
+    level.write(body);
+    body.flip();
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(FORMAT_VERSION);
+    header.putInt(Level.GENERATOR_VERSION);
+    header.putInt(level.num());
+    header.putLong(level.seed());
+    header.putInt(body.remaining());
+    header.putLong(crc(body.duplicate()));
+    header.flip();
+
+    Path temp = null;
+    try {
+      Files.createDirectories(dir.toPath());
+      temp = Files.createTempFile(dir.toPath(), "level", ".tmp");
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)){
+        while (header.hasRemaining()) channel.write(header);
+        while (body.hasRemaining()) channel.write(body);
+      }
+      Files.move(temp, file(level.num(), level.seed()).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException e){ // can't cache it, it will just be generated again next time
+      try { if (temp != null) Files.deleteIfExists(temp); } catch (IOException ignored){}
+    }
+    prune();
+  }
+
+  /** Deletes the least recently used levels past maxFiles: */
+  private synchronized void prune(){
+    File[] files = dir.listFiles(new FileFilter(){
+      public boolean accept(File f){ return f.getName().startsWith("level-") && f.getName().endsWith(".bin"); }
+    });
+    if (files == null || files.length <= maxFiles) return;
+    Arrays.sort(files, new Comparator<File>(){
+      public int compare(File a, File b){ return Long.compare(a.lastModified(), b.lastModified()); }
+    });
+    for (int i = 0; i < files.length-maxFiles; i++) files[i].delete();
+  }
+
+  private static long crc(ByteBuffer bytes){
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,100 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * LevelGenerator builds the levels of a run on a pool of worker threads: either all at once, or one at a time
+ * in the background (prepare() the next level while the current one is played, then take() it).
+ * Each level draws from its own random stream, seeded from the run's seed and the level's number,
+ * so a run's levels come out the same whichever threads build them and in whatever order.
+ * With a LevelCache, levels generated before (by this or an earlier run) are read from disk instead.
+ */
+public class LevelGenerator {
+
+  /** Fields: */
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+  private long seed; // seed all the levels' seeds are mixed from
+  private LevelCache cache; // null for none
+
+  // Level being generated in the background:
+  private Level pending;
+  private ForkJoinTask<Level> pendingTask;
+
+  public LevelGenerator(long seed){
+    this.seed = seed;
+  }
+
+  public long seed(){ return seed; }
+
+  /** Reads levels from (and saves newly generated ones to) cache, null for none: */
+  public void setCache(LevelCache cache){ this.cache = cache; }
+
+  /** Seed of level num's stream (depends only on the run seed and num, so levels can be made in any order): */
+  public long levelSeed(int num){
+    long z = seed + (num+1)*0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Starts generating level num on the pool, join() the task to get it: */
+  public ForkJoinTask<Level> submit(final int num){
+    return pool.submit(new RecursiveTask<Level>(){
+      protected Level compute(){ return new Level(num, levelSeed(num)); }
+    });
+  }
+
+  /** Starts generating level num in the background, unless it already is: */
+  public void prepare(final int num){
+    if (pending != null && pending.num() == num) return;
+    if (pendingTask != null) pendingTask.cancel(false); // not wanted any more
+    final Level level = new Level(num, Level.ROWS, Level.COLS, levelSeed(num), false);
+    final LevelCache cache = this.cache;
+    pending = level;
+    pendingTask = pool.submit(new RecursiveTask<Level>(){
+      protected Level compute(){
+        Level cached = (cache != null)? cache.load(num, level.seed()) : null;
+        if (cached != null) return cached;
+        level.generate(Level.ROWS, Level.COLS);
+        if (cache != null) cache.save(level); // before anyone plays it
+        return level;
+      }
+    });
+  }
+
+  /** True if level num has been generated in the background and can be taken without waiting: */
+  public boolean ready(int num){
+    return (pending != null && pending.num() == num && pendingTask.isDone());
+  }
+
+  /** How far level num has got (0 to 1, 0 if it isn't being generated): */
+  public float progress(int num){
+    if (pending == null || pending.num() != num) return 0;
+    return pendingTask.isDone()? 1 : pending.progress(); // a cached level is done without counting stages
+  }
+
+  /** Level num, waiting for it if it is still being generated (or starting it first if it isn't): */
+  public Level take(int num){
+    prepare(num);
+    Level level = pendingTask.join();
+    pending = null;
+    pendingTask = null;
+    return level;
+  }
+
+  /** Levels 0 to count-1, generated at the same time if parallel (or one after another on this thread): */
+  public ArrayList<Level> generateAll(int count, boolean parallel){
+    ArrayList<Level> levels = new ArrayList<Level>();
+    if (!parallel){
+      for (int i = 0; i < count; i++) levels.add(new Level(i, levelSeed(i)));
+      return levels;
+    }
+    ArrayList<ForkJoinTask<Level>> tasks = new ArrayList<ForkJoinTask<Level>>();
+    for (int i = 0; i < count; i++) tasks.add(submit(i));
+    for (ForkJoinTask<Level> task : tasks) levels.add(task.join());
+    return levels;
+  }
+}
@@ -0,0 +1,57 @@
+package intruderalert.core;
+
+import java.util.Random;
+
+/**
+ * Maths holds the maths functions the game logic uses, so it doesn't need Processing's PApplet.
+ * They behave like their Processing namesakes. Random numbers here come from one shared, unseeded stream;
+ * a run's levels and gameplay draw from their own seeded streams instead (see RandomStream).
+ */
+public final class Maths {
+
+  /** Constants: */
+  public static final float PI = (float)Math.PI;
+  public static final float HALF_PI = PI/2;
+  public static final float TWO_PI = PI*2;
+
+  /** Fields: */
+  private static final Random random = new Random();
+
+  private Maths(){}
+
+  public static void randomSeed(long seed){ random.setSeed(seed); }
+
+  /** Returns a random long from the shared stream (e.g. to seed another stream with): */
+  public static long randomLong(){ return random.nextLong(); }
+
+  /** Returns a random float from 0 up to (but not including) high: */
+  public static float random(float high){
+    if (high == 0 || high != high) return 0;
+    float value;
+    do {
+      value = random.nextFloat() * high;
+    } while (value == high); // rounding can land exactly on high
+    return value;
+  }
+
+  /** Returns a random float from low up to (but not including) high: */
+  public static float random(float low, float high){
+    if (low >= high) return low;
+    float value;
+    do {
+      value = random(high-low) + low;
+    } while (value == high);
+    return value;
+  }
+
+  public static float abs(float n){ return (n < 0)? -n : n; }
+  public static float sq(float n){ return n*n; }
+  public static float sqrt(float n){ return (float)Math.sqrt(n); }
+  public static float dist(float x1, float y1, float x2, float y2){ return sqrt(sq(x2-x1) + sq(y2-y1)); }
+  public static float constrain(float n, float low, float high){ return (n < low)? low : ((n > high)? high : n); }
+
+  public static float sin(float angle){ return (float)Math.sin(angle); }
+  public static float cos(float angle){ return (float)Math.cos(angle); }
+  public static float atan(float n){ return (float)Math.atan(n); }
+  public static float atan2(float y, float x){ return (float)Math.atan2(y, x); }
+}
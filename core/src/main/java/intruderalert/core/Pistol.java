@@ -0,0 +1,43 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class Pistol extends Gun {
+  
+  public Pistol(float damage, float speed, int cooldown){
+    name = "Pistol";
+    //bounces = true;
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = TWO_PI/120.0f;
+    size = 15;
+    force = 3.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(6.0f*fpt());
+    durability = 1;
+    crateDamage = 7;
+  }
+  
+  public Pistol(){
+    name = "Pistol";
+    damage = 10;
+    speed = 2;
+    inaccuracy = TWO_PI/120.0f;
+    size = 15;
+    force = 3.0f;
+    cooldown = 25;
+    lifespan = (int)(6.0f*fpt());
+    durability = 1;
+    crateDamage = 7;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    float speedX = speed*cos(direction);
+    float speedY = speed*sin(direction);
+    world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, hue, lifespan, crateDamage, durability);
+  }
+}
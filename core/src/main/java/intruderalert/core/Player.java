@@ -0,0 +1,66 @@
+package intruderalert.core;
+
+import java.util.HashMap;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * Player describes the character controlled by the user.
+ */
+public class Player extends Character {
+  
+  /** Additional Fields: */
+  
+  public Player(float size, float maxSpeed, Gun gun, float hue){
+    this.maxHealth = this.health = 100;
+    this.w = this.h = size;
+    this.realHue = this.hue = hue;
+    this.maxSpeed = maxSpeed;
+    this.equippedGun = gun;
+  }
+  
+  public void controlPlayer(World world, HashMap<String, Boolean> controls, float direction){
+    // Get direction of movement:
+    int hMove = 0;
+    int vMove = 0;
+    if (controls.get("l")) hMove--;
+    if (controls.get("r")) hMove++;
+    if (controls.get("u")) vMove--;
+    if (controls.get("d")) vMove++;
+    
+    // Update moving speed:
+    float speedX = speed.x;
+    float speedY = speed.y;
+    
+    if (hMove == 0 || vMove == 0){ // if only moving in one direction
+      speedX += hMove * (maxSpeed-abs(speedX))/4;
+      speedY += vMove * (maxSpeed-abs(speedY))/4;
+    }
+    else { // if moving at an angle
+      float angle = atan(vMove/hMove);
+      if (hMove < 0) angle += PI;
+      float maxSpeedX = maxSpeed * cos(angle);
+      float maxSpeedY = maxSpeed * sin(angle);
+      speedX += hMove * (abs(maxSpeedX)-abs(speedX))/4;
+      speedY += vMove * (abs(maxSpeedY)-abs(speedY))/4;
+    }
+    
+    // Update vector:
+    speed.set(speedX, speedY);
+    
+    // Shooting:
+    if (equippedGun != null && cooldownOver(world.ticks())){
+      if (controls.get("ml")) equippedGun.shoot(world, true, pos, direction, realHue);
+      else if (controls.get("0") || controls.get("1") || controls.get("2") || controls.get("3")){
+        hMove = 0;
+        vMove = 0;
+        if (controls.get("2")) hMove--;
+        if (controls.get("0")) hMove++;
+        if (controls.get("3")) vMove--;
+        if (controls.get("1")) vMove++;
+        direction = atan2(vMove, hMove);
+        if (!(hMove == 0 && vMove == 0)) equippedGun.shoot(world, true, pos, direction, realHue);
+      }
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package intruderalert.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * RandomStream is one seeded stream of random numbers (a SplittableRandom), with the same random() as Maths.
+ * A run's streams all come from its run seed: one per level to generate it, one for combat (shooting,
+ * enemy movement, drops) and one for cosmetic effects. Each can be reproduced on its own, and drawing
+ * from one never changes what another gives.
+ */
+public class RandomStream {
+
+  /** Fields: */
+  private SplittableRandom random;
+
+  public RandomStream(long seed){
+    random = new SplittableRandom(seed);
+  }
+
+  private RandomStream(SplittableRandom random){
+    this.random = random;
+  }
+
+  /** New stream split off this one (what it gives depends only on this stream's state when split): */
+  public RandomStream split(){ return new RandomStream(random.split()); }
+
+  public long nextLong(){ return random.nextLong(); }
+
+  /** Returns a random float from 0 up to (but not including) high: */
+  public float random(float high){
+    if (high == 0 || high != high) return 0;
+    float value;
+    do {
+      value = (random.nextInt() >>> 8) * 0x1.0p-24f * high; // 24 random bits, like Random.nextFloat()
+    } while (value == high); // rounding can land exactly on high
+    return value;
+  }
+
+  /** Returns a random float from low up to (but not including) high: */
+  public float random(float low, float high){
+    if (low >= high) return low;
+    float value;
+    do {
+      value = random(high-low) + low;
+    } while (value == high);
+    return value;
+  }
+}
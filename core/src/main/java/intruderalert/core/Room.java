@@ -0,0 +1,49 @@
+package intruderalert.core;
+
+/**
+ * Room describes a rectangle of floor tiles placed by the level generator.
+ */
+public class Room {
+
+  /** Fields: */
+  private int leftCol, rightCol, topRow, bottomRow;
+
+  public Room(int centreRow, int centreCol, int rowRad, int colRad){
+    this.topRow = centreRow - rowRad;
+    this.bottomRow = centreRow + rowRad;
+    this.leftCol = centreCol - colRad;
+    this.rightCol = centreCol + colRad;
+  }
+
+  public int leftCol(){ return leftCol; }
+  public int rightCol(){ return rightCol; }
+  public int topRow(){ return topRow; }
+  public int bottomRow(){ return bottomRow; }
+
+  public boolean isRoomTile(int row, int col){
+    return ((topRow <= row && row <= bottomRow) && (leftCol <= col && col <= rightCol));
+  }
+
+  public boolean isInRoom(float x, float y){
+    float tileSize = World.TILE_SIZE;
+    float left = leftCol*tileSize;
+    float right = (rightCol+1)*tileSize;
+    float top = topRow*tileSize;
+    float bottom = bottomRow*tileSize;
+    return ((left <= x && x <= right) && (top <= y && y <= bottom));
+  }
+
+  public Vec2 centrePos(){
+    float tileSize = World.TILE_SIZE;
+    float x = (leftCol*tileSize + rightCol*tileSize)/2.0f + tileSize/2.0f;
+    float y = (topRow*tileSize + bottomRow*tileSize)/2.0f + tileSize/2.0f;
+    return new Vec2(x, y);
+  }
+
+  public Vec2 centreTile(){
+    int col = (leftCol+rightCol)/2;
+    int row = (topRow+bottomRow)/2;
+    return new Vec2(col, row);
+  }
+
+}
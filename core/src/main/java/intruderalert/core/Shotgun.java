@@ -0,0 +1,51 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class Shotgun extends Gun {
+  
+  /** Fields: */
+  private int streams = 5; // pellets shot
+  private float angle = PI/18.0f; // angle between pellets
+  
+  public Shotgun(float damage, float speed, int cooldown){
+    name = "Shotgun";
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = TWO_PI/120.0f;
+    size = 15;
+    force = 5.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(4.0f*fpt());
+    durability = 3;
+    crateDamage = 20;
+  }
+  
+  public Shotgun(){
+    name = "Shotgun";
+    damage = 5;
+    speed = 3;
+    inaccuracy = TWO_PI/120.0f;
+    size = 15;
+    force = 5.0f;
+    cooldown = 100;
+    lifespan = (int)(4.0f*fpt());
+    durability = 3;
+    crateDamage = 20;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    direction -= ((streams-1)/2.0f)*angle;
+    
+    for (int i = 0; i < streams; i++){
+      float newDirection = direction + i*angle;
+      float speedX = speed*cos(newDirection);
+      float speedY = speed*sin(newDirection);
+      world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, hue, lifespan, crateDamage, durability);
+    }
+  }
+}
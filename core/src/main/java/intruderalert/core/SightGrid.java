@@ -0,0 +1,83 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+
+/**
+ * SightGrid records which parts of a level block line of sight, in cells half a tile wide.
+ * Wall tiles fill 2x2 cells and every crate fills exactly one cell (crates are half a tile and sit in a tile's corner).
+ * Lines are walked one cell at a time (Amanatides-Woo DDA), so a check costs the number of cells crossed.
+ */
+public class SightGrid {
+
+  /** Fields: */
+  private boolean[] solid; // row-major, true if the cell blocks sight
+  private int rows, cols;
+  private float cellSize = World.TILE_SIZE/2.0f;
+
+  public SightGrid(TileMap tiles, ArrayList<Crate> crates){
+    rows = tiles.rows()*2;
+    cols = tiles.cols()*2;
+    solid = new boolean[rows*cols];
+    for (int row = 0; row < tiles.rows(); row++){
+      for (int col = 0; col < tiles.cols(); col++){
+        if (tiles.type(row, col) != 2) continue;
+        int r = row*2;
+        int c = col*2;
+        solid[r*cols + c] = solid[r*cols + c+1] = true;
+        solid[(r+1)*cols + c] = solid[(r+1)*cols + c+1] = true;
+      }
+    }
+    for (Crate c : crates) setCrate(c, true);
+  }
+
+  public int rows(){ return rows; }
+  public int cols(){ return cols; }
+  public float cellSize(){ return cellSize; }
+
+  /** Cells off the map count as solid: */
+  public boolean solid(int row, int col){
+    if (row < 0 || row >= rows || col < 0 || col >= cols) return true;
+    return solid[row*cols + col];
+  }
+
+  public void setCrate(Crate c, boolean blocks){
+    int row = (int)(c.y()/cellSize);
+    int col = (int)(c.x()/cellSize);
+    if (row < 0 || row >= rows || col < 0 || col >= cols) return;
+    solid[row*cols + col] = blocks;
+  }
+
+  /** True if no solid cell lies on the line from (x0, y0) to (x1, y1): */
+  public boolean clearLine(float x0, float y0, float x1, float y1){
+    int col = (int)Math.floor(x0/cellSize);
+    int row = (int)Math.floor(y0/cellSize);
+    int endCol = (int)Math.floor(x1/cellSize);
+    int endRow = (int)Math.floor(y1/cellSize);
+    if (solid(row, col)) return false;
+
+    float dx = x1-x0;
+    float dy = y1-y0;
+    int stepCol = (dx > 0)? 1 : -1;
+    int stepRow = (dy > 0)? 1 : -1;
+    // Distance along the line (0 to 1) to the next column/row boundary, and between boundaries:
+    float tMaxX = (dx == 0)? Float.POSITIVE_INFINITY : (((dx > 0)? col+1 : col)*cellSize - x0)/dx;
+    float tMaxY = (dy == 0)? Float.POSITIVE_INFINITY : (((dy > 0)? row+1 : row)*cellSize - y0)/dy;
+    float tDeltaX = (dx == 0)? Float.POSITIVE_INFINITY : cellSize/Math.abs(dx);
+    float tDeltaY = (dy == 0)? Float.POSITIVE_INFINITY : cellSize/Math.abs(dy);
+
+    // One step per cell boundary crossed:
+    int steps = Math.abs(endCol-col) + Math.abs(endRow-row);
+    for (int i = 0; i < steps; i++){
+      if (row == endRow || (col != endCol && tMaxX < tMaxY)){ // (rounding can't take it past the end cell)
+        col += stepCol;
+        tMaxX += tDeltaX;
+      }
+      else {
+        row += stepRow;
+        tMaxY += tDeltaY;
+      }
+      if (solid(row, col)) return false;
+    }
+    return true;
+  }
+}
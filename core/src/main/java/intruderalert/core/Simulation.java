@@ -0,0 +1,98 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * Simulation plays whole games headless (no window, nothing drawn) by calling World.update() directly,
+ * with a simple autopilot standing in for the keyboard and mouse.
+ * Used for soak tests and for measuring how many ticks per second the game logic can do.
+ * Every game and its autopilot draw from streams split off the run seed, so the same seed plays the same games.
+ */
+public class Simulation {
+
+  /** Fields: */
+  private int numOfGames; // games to play
+  private long maxTicks; // ticks before a game is abandoned
+  private int decisionBudget = -1; // enemy decisions per tick (see AIScheduler), -1 for the World's own
+  private long seed; // run seed
+  private RandomStream games; // each game's seeds are split off this one
+
+  // Autopilot:
+  private RandomStream pilot; // the autopilot's own random numbers (a new stream each game)
+  private String[] moves = {"l", "r", "u", "d"};
+  private int moveTicks = 30; // ticks between changes of direction
+
+  // Results:
+  private long totalTicks;
+  private int levelsCompleted;
+  private int deaths, wins;
+  private long decided, deferred; // enemy decisions (see AIScheduler)
+  private long decisionNanos; // time spent on them
+
+  public Simulation(int numOfGames, long maxTicks){
+    this(numOfGames, maxTicks, randomLong());
+  }
+
+  public Simulation(int numOfGames, long maxTicks, long seed){
+    this.numOfGames = numOfGames;
+    this.maxTicks = maxTicks;
+    this.seed = seed;
+    pilot = new RandomStream(seed); // for autopilot() called on its own, each game gets its own
+  }
+
+  /** Limits enemy decisions per tick, e.g. to a few, so the scheduler has to defer some (0 for no limit): */
+  public void setDecisionBudget(int decisions){ decisionBudget = decisions; }
+
+  public void run(){
+    games = new RandomStream(seed);
+    long start = System.nanoTime();
+    for (int i = 0; i < numOfGames; i++) playGame();
+    double seconds = (System.nanoTime()-start)/1e9;
+
+    System.out.println("Seed: "+seed);
+    System.out.println("Games: "+numOfGames+" ("+wins+" won, "+deaths+" died), levels completed: "+levelsCompleted);
+    System.out.printf("Ticks: %d in %.2fs = %d ticks/s, %.1f games/min%n", totalTicks, seconds, (long)(totalTicks/seconds), 60*numOfGames/seconds);
+    System.out.printf("Enemy decisions: %d made, %d deferred (%.2f%%), %.2fus per tick%n", decided, deferred, 100.0*deferred/Math.max(decided+deferred, 1), decisionNanos/1e3/Math.max(totalTicks, 1));
+  }
+
+  public void playGame(){
+    RandomStream game = games.split();
+    World world = new World(game.random(0, 360), new WorldListener(){}, game.nextLong());
+    pilot = game.split();
+    if (decisionBudget >= 0) world.scheduler().setBudget(decisionBudget);
+    for (long tick = 0; tick < maxTicks; tick++){
+      if (world.gameOver() || world.gameFinished()) break;
+      if (world.levelCompleted()) world.setLevel(world.level().num()+1);
+
+      autopilot(world, tick);
+      world.update();
+      totalTicks++;
+    }
+    decided += world.scheduler().totalDecided();
+    deferred += world.scheduler().totalDeferred();
+    decisionNanos += world.scheduler().totalNanos();
+    if (world.gameOver()) deaths++;
+    if (world.gameFinished()) wins++;
+    levelsCompleted += world.level().num() + ((world.gameFinished())? 1 : 0);
+  }
+
+  /** Wanders in random directions while shooting at the closest enemy: */
+  public void autopilot(World world, long tick){
+    if (tick % moveTicks == 0){
+      for (String m : moves) world.setControl(m, (int)pilot.random(0, 3) == 0);
+    }
+
+    Player player = world.player();
+    Enemy closest = null;
+    float closestDist = 0;
+    for (Enemy e : world.enemies()){
+      float dist = dist(player.x(), player.y(), e.x(), e.y());
+      if (closest == null || dist < closestDist){
+        closest = e;
+        closestDist = dist;
+      }
+    }
+    world.setControl("ml", closest != null);
+    if (closest != null) world.setAim(atan2(closest.y()-player.y(), closest.x()-player.x()));
+  }
+}
@@ -0,0 +1,42 @@
+package intruderalert.core;
+
+import static intruderalert.core.Maths.*;
+
+public class SniperRifle extends Gun {
+  
+  public SniperRifle(float damage, float speed, int cooldown){
+    name = "Sniper Rifle";
+    this.damage = damage;
+    this.speed = speed;
+    inaccuracy = 0;
+    size = 10;
+    force = 10.0f;
+    this.cooldown = cooldown;
+    lifespan = (int)(15.0f*fpt());
+    durability = 10;
+    crateDamage = 40;
+  }
+  
+  public SniperRifle(){
+    name = "Sniper Rifle";
+    damage = 25;
+    speed = 15;
+    inaccuracy = TWO_PI/120.0f;
+    size = 10;
+    force = 10.0f;
+    cooldown = 100;
+    lifespan = (int)(15.0f*fpt());
+    durability = 10;
+    crateDamage = 40;
+  }
+  
+  public void shoot(World world, boolean player, Vec2 pos, float direction, float hue){
+    if (!cooldownOver(world.ticks())) return; // if cooldown not over
+    lastShotTick = world.ticks();
+    
+    direction += world.combatRandom().random(-inaccuracy, inaccuracy);
+    float speedX = speed*cos(direction);
+    float speedY = speed*sin(direction);
+    world.bullets().add(player, bounces, pos.x, pos.y, speedX, speedY, damage, size, force, hue, lifespan, crateDamage, durability);
+  }
+}
@@ -0,0 +1,115 @@
+package intruderalert.core;
+
+import java.util.Arrays;
+
+/**
+ * SummedAreaTable counts the tiles of one type in any rectangle of a TileMap with four array reads
+ * (an integral image), used by the generator to test if a room would overlap another.
+ * Rectangles filled since the table was last built are kept in coarse buckets (BUCKET tiles square)
+ * and checked directly, and the table is only built again once enough have piled up, so adding rooms stays cheap.
+ *
+ * So any() is not constant time: it is the four reads plus a check of each pending rectangle in the buckets
+ * it touches, at most maxPending = max(64, 4*sqrt(tiles)) and usually a few. filled() is amortised
+ * O(sqrt(tiles)), as a rebuild (up to one pass over the map) comes once every maxPending rectangles.
+ */
+public class SummedAreaTable {
+
+  /** Constants: */
+  private static final int BUCKET = 16; // tiles per side of a bucket of pending rectangles
+
+  /** Fields: */
+  private TileMap tiles;
+  private int type; // tiles counted
+  private int[] sums; // sums[row*(cols+1) + col] = tiles of type in the rows above row and columns left of col
+  private int rows, cols;
+
+  // Rectangles (top, left, bottom, right) filled since the table was built, and the buckets they touch:
+  private int[] pending;
+  private int numPending, maxPending;
+  private int bucketCols;
+  private int[] bucketHead; // first entry in each bucket (-1 if none)
+  private int[] entryRect, entryNext; // pending rectangle of each entry, and the next entry in its bucket
+  private int numEntries;
+
+  public SummedAreaTable(TileMap tiles, int type){
+    this.tiles = tiles;
+    this.type = type;
+    rows = tiles.rows();
+    cols = tiles.cols();
+    sums = new int[(rows+1)*(cols+1)];
+    maxPending = Math.max(64, 4*(int)Math.sqrt(rows*cols)); // so building the table costs a few reads per rectangle
+    pending = new int[maxPending*4];
+    bucketCols = (cols+BUCKET-1)/BUCKET;
+    bucketHead = new int[bucketCols*((rows+BUCKET-1)/BUCKET)];
+    entryRect = new int[maxPending*4];
+    entryNext = new int[maxPending*4];
+    rebuild();
+  }
+
+  /** Builds the table from the tile-map again: */
+  public void rebuild(){
+    rebuild(0);
+  }
+
+  /** Builds the table again from row down (the sums above it can't have changed): */
+  private void rebuild(int fromRow){
+    int w = cols+1;
+    for (int row = fromRow; row < rows; row++){
+      int rowSum = 0;
+      for (int col = 0; col < cols; col++){
+        if (tiles.type(row, col) == type) rowSum++;
+        sums[(row+1)*w + col+1] = sums[row*w + col+1] + rowSum;
+      }
+    }
+    numPending = 0;
+    numEntries = 0;
+    Arrays.fill(bucketHead, -1);
+  }
+
+  /** Tiles of the type in the rectangle (inclusive) when the table was last built: */
+  public int count(int top, int left, int bottom, int right){
+    int w = cols+1;
+    return sums[(bottom+1)*w + right+1] - sums[top*w + right+1] - sums[(bottom+1)*w + left] + sums[top*w + left];
+  }
+
+  /** True if any tile in the rectangle (inclusive) is of the type (four reads, plus the pending rectangles nearby): */
+  public boolean any(int top, int left, int bottom, int right){
+    if (count(top, left, bottom, right) > 0) return true;
+    for (int bRow = top/BUCKET; bRow <= bottom/BUCKET; bRow++){
+      for (int bCol = left/BUCKET; bCol <= right/BUCKET; bCol++){
+        for (int e = bucketHead[bRow*bucketCols + bCol]; e >= 0; e = entryNext[e]){
+          int i = entryRect[e]*4;
+          if (top <= pending[i+2] && pending[i] <= bottom && left <= pending[i+3] && pending[i+1] <= right) return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Called after filling a rectangle (inclusive) of the tile-map with the type: */
+  public void filled(int top, int left, int bottom, int right){
+    if (numPending == maxPending){
+      int fromRow = top;
+      for (int i = 0; i < numPending*4; i += 4) fromRow = Math.min(fromRow, pending[i]);
+      rebuild(fromRow);
+      return;
+    }
+    int rect = numPending++;
+    pending[rect*4] = top;
+    pending[rect*4+1] = left;
+    pending[rect*4+2] = bottom;
+    pending[rect*4+3] = right;
+    for (int bRow = top/BUCKET; bRow <= bottom/BUCKET; bRow++){
+      for (int bCol = left/BUCKET; bCol <= right/BUCKET; bCol++){
+        if (numEntries == entryRect.length){
+          entryRect = Arrays.copyOf(entryRect, numEntries*2);
+          entryNext = Arrays.copyOf(entryNext, numEntries*2);
+        }
+        int bucket = bRow*bucketCols + bCol;
+        entryRect[numEntries] = rect;
+        entryNext[numEntries] = bucketHead[bucket];
+        bucketHead[bucket] = numEntries++;
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package intruderalert.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * TileMap is a level's grid of tiles packed into one byte each: the low 2 bits hold the type
+ * (0 is empty, 1 is floor, 2 is wall) and the high 6 bits a shade used to vary the floor's brightness.
+ * Tiles are also addressed by index (row*cols + col), which is how the generator queues them.
+ */
+public class TileMap {
+
+  /** Constants: */
+  public static final int EMPTY = 0, FLOOR = 1, WALL = 2;
+  private static final int TYPE_BITS = 0x3;
+
+  /** Fields: */
+  private byte[] cells; // row-major
+  private int rows, cols;
+
+  /** All empty: */
+  public TileMap(int rows, int cols){
+    this.rows = rows;
+    this.cols = cols;
+    cells = new byte[rows*cols];
+  }
+
+  /** Copy of another map: */
+  public TileMap(TileMap other){
+    rows = other.rows;
+    cols = other.cols;
+    cells = other.cells.clone();
+  }
+
+  /** Makes this a copy of another map of the same size, without allocating: */
+  public void copyFrom(TileMap other){
+    System.arraycopy(other.cells, 0, cells, 0, cells.length);
+  }
+
+  public int rows(){ return rows; }
+  public int cols(){ return cols; }
+  public int size(){ return cells.length; }
+
+  public int index(int row, int col){ return row*cols + col; }
+  public int row(int index){ return index/cols; }
+  public int col(int index){ return index%cols; }
+  public boolean inBounds(int row, int col){ return (0 <= row && row < rows) && (0 <= col && col < cols); }
+
+  public int type(int index){ return cells[index] & TYPE_BITS; }
+  public int type(int row, int col){ return cells[row*cols + col] & TYPE_BITS; }
+  public void setType(int index, int type){ cells[index] = (byte)((cells[index] & ~TYPE_BITS) | type); }
+  public void setType(int row, int col, int type){ setType(row*cols + col, type); }
+
+  /** Floor brightness of a tile (300 to 350): */
+  public float brightness(int row, int col){ return 300 + ((cells[row*cols + col] & 0xFF) >>> 2)*(50/64.0f); }
+
+  /** Gives every tile a random shade, drawn from the stream r: */
+  public void randomiseBrightness(RandomStream r){
+    for (int i = 0; i < cells.length; i++) cells[i] = (byte)((cells[i] & TYPE_BITS) | ((int)r.random(0, 64) << 2));
+  }
+
+  /** Writes every tile's byte (type and shade) to out: */
+  public void write(ByteBuffer out){ out.put(cells); }
+
+  /** Reads every tile's byte from in, as written by write() from a map of the same size: */
+  public void read(ByteBuffer in){ in.get(cells); }
+
+  /** Number of tiles of a type: */
+  public int count(int type){
+    int count = 0;
+    for (int i = 0; i < cells.length; i++) if ((cells[i] & TYPE_BITS) == type) count++;
+    return count;
+  }
+
+  /** Index of the first tile of a type, or -1 if there are none: */
+  public int find(int type){
+    for (int i = 0; i < cells.length; i++) if ((cells[i] & TYPE_BITS) == type) return i;
+    return -1;
+  }
+}
@@ -0,0 +1,38 @@
+package intruderalert.core;
+
+/**
+ * Vec2 describes a 2D vector (a position or a velocity).
+ * It has the parts of Processing's PVector the game uses.
+ */
+public class Vec2 {
+
+  /** Fields: */
+  public float x, y;
+
+  public Vec2(float x, float y){
+    this.x = x;
+    this.y = y;
+  }
+
+  public Vec2 copy(){ return new Vec2(x, y); }
+
+  public Vec2 set(float x, float y){
+    this.x = x;
+    this.y = y;
+    return this;
+  }
+  public Vec2 set(Vec2 v){ return set(v.x, v.y); }
+
+  public Vec2 add(float x, float y){ return set(this.x+x, this.y+y); }
+  public Vec2 add(Vec2 v){ return add(v.x, v.y); }
+  public Vec2 sub(float x, float y){ return set(this.x-x, this.y-y); }
+  public Vec2 sub(Vec2 v){ return sub(v.x, v.y); }
+  public Vec2 mult(float n){ return set(x*n, y*n); }
+
+  /** Returns a new vector amt of the way from v1 to v2: */
+  public static Vec2 lerp(Vec2 v1, Vec2 v2, float amt){
+    return new Vec2(v1.x + (v2.x-v1.x)*amt, v1.y + (v2.y-v1.y)*amt);
+  }
+
+  public String toString(){ return "["+x+", "+y+"]"; }
+}
@@ -0,0 +1,93 @@
+package intruderalert.core;
+
+/**
+ * VisibilityField records which cells of a SightGrid can be seen from one point (the player), up to a radius.
+ * It is worked out once per tick with recursive shadowcasting, then any enemy can ask if it sees
+ * the player by looking up its own cell, so line of sight no longer costs more with more enemies.
+ * It can disagree with SightGrid.clearLine() near corners, so World still casts the exact ray before an enemy shoots.
+ */
+public class VisibilityField {
+
+  /** Constants: */
+  // Octant transforms (xx, xy, yx, yy) for recursive shadowcasting:
+  private static final int[][] OCTANTS = {
+    {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}, {-1, 0, 0, 1},
+    {-1, 0, 0, -1}, {0, -1, -1, 0}, {0, 1, -1, 0}, {1, 0, 0, -1}
+  };
+
+  /** Fields: */
+  private SightGrid grid;
+  private int[] litStamp; // cell was seen in the update with this stamp
+  private int stamp; // current update
+  private int originRow, originCol, radius;
+
+  /** Works out what can be seen from (x, y) up to radius cells away: */
+  public void update(SightGrid grid, float x, float y, int radius){
+    if (this.grid != grid || litStamp.length != grid.rows()*grid.cols()){
+      this.grid = grid;
+      litStamp = new int[grid.rows()*grid.cols()];
+      stamp = 0;
+    }
+    stamp++;
+    this.radius = radius;
+    originRow = (int)(y/grid.cellSize());
+    originCol = (int)(x/grid.cellSize());
+    light(originRow, originCol);
+    for (int[] o : OCTANTS) castLight(1, 1.0f, 0.0f, o[0], o[1], o[2], o[3]);
+  }
+
+  /** True if the cell holding (x, y) was seen in the last update: */
+  public boolean visible(float x, float y){
+    if (grid == null) return false;
+    int row = (int)(y/grid.cellSize());
+    int col = (int)(x/grid.cellSize());
+    if (row < 0 || row >= grid.rows() || col < 0 || col >= grid.cols()) return false;
+    return (litStamp[row*grid.cols() + col] == stamp);
+  }
+
+  private void light(int row, int col){
+    if (row < 0 || row >= grid.rows() || col < 0 || col >= grid.cols()) return;
+    litStamp[row*grid.cols() + col] = stamp;
+  }
+
+  /** Lights one octant from row outwards, between the start and end slopes: */
+  private void castLight(int row, float start, float end, int xx, int xy, int yx, int yy){
+    if (start < end) return;
+    int radiusSq = radius*radius;
+    float newStart = 0;
+    for (int j = row; j <= radius; j++){
+      int dy = -j;
+      boolean blocked = false;
+      for (int dx = -j; dx <= 0; dx++){
+        // Cell (dx, dy) in octant space, and where it is on the grid:
+        int col = originCol + dx*xx + dy*xy;
+        int r = originRow + dx*yx + dy*yy;
+        float leftSlope = (dx-0.5f)/(dy+0.5f);
+        float rightSlope = (dx+0.5f)/(dy-0.5f);
+        if (start < rightSlope) continue;
+        else if (end > leftSlope) break;
+
+        boolean solid = grid.solid(r, col);
+        // Open cells are only lit if their centre is in view, so seeing is symmetric (if A sees B, B sees A):
+        float centreSlope = dx/(float)dy;
+        boolean centreInView = (end <= centreSlope && centreSlope <= start);
+        if (dx*dx + dy*dy < radiusSq && (solid || centreInView)) light(r, col);
+        if (blocked){
+          if (solid){ // still in shadow
+            newStart = rightSlope;
+          }
+          else { // out of shadow
+            blocked = false;
+            start = newStart;
+          }
+        }
+        else if (solid && j < radius){ // start of a shadow, light the part before it
+          blocked = true;
+          castLight(j+1, start, leftSlope, xx, xy, yx, yy);
+          newStart = rightSlope;
+        }
+      }
+      if (blocked) break;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package intruderalert.core;
+
+/**
+ * Wall describes a rectangle of wall tiles joined into one, so fewer collision checks are needed.
+ * Walls glow for a while after being hit (fading each tick, see World.update()).
+ */
+public class Wall {
+
+  /** Fields: */
+  private float left, top, right, bottom;
+  private int leftCol, rightCol, topRow, bottomRow;
+  private int maxGlowFrames = 300;
+  private int glowFrames; // ticks left to glow
+
+  /** Wall covering the tiles from (topRow, leftCol) to (bottomRow, rightCol), inclusive: */
+  public Wall(int topRow, int leftCol, int bottomRow, int rightCol){
+    this.leftCol = leftCol;
+    this.rightCol = rightCol;
+    this.topRow = topRow;
+    this.bottomRow = bottomRow;
+
+    float tileSize = World.TILE_SIZE;
+    left = leftCol * tileSize;
+    right = (rightCol+1) * tileSize;
+    top = topRow * tileSize;
+    bottom = (bottomRow+1) * tileSize;
+  }
+
+  public boolean containsPoint(float x, float y){
+    return (left <= x && x <= right) && (top <= y && y <= bottom);
+  }
+  public boolean containsTile(int row, int col){
+    return (topRow <= row && row <= bottomRow) && (leftCol <= col && col <= rightCol);
+  }
+
+  public void glow(){ glowFrames = maxGlowFrames; }
+  public void updateWall(){ if (glowFrames > 0) glowFrames--; }
+  public int glowFrames(){ return glowFrames; }
+  public void setGlowFrames(int f){ glowFrames = f; }
+  public int maxGlowFrames(){ return maxGlowFrames; }
+
+  public float left(){ return left; }
+  public float right(){ return right; }
+  public float top(){ return top; }
+  public float bottom(){ return bottom; }
+
+  public int topRow(){ return topRow; }
+  public int bottomRow(){ return bottomRow; }
+  public int leftCol(){ return leftCol; }
+  public int rightCol(){ return rightCol; }
+}
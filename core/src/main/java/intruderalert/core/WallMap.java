@@ -0,0 +1,79 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * WallMap records the walls to check for collisions on each tile: the wall a wall tile is part of,
+ * or the walls on the 8 tiles around a floor tile. It is stored as compressed sparse rows, so the walls
+ * of tile i are wall(k) for k from start() to end(), packed into one array instead of a list per tile.
+ */
+public class WallMap {
+
+  /** Fields: */
+  private ArrayList<Wall> walls;
+  private int cols;
+  private int[] offsets; // walls of tile i are at wallIndices[offsets[i]] to wallIndices[offsets[i+1]-1]
+  private int[] wallIndices; // into walls
+
+  /** Built in one pass from a grid holding the index (into walls) of the wall on each tile, or -1: */
+  public WallMap(TileMap tiles, ArrayList<Wall> walls, int[] wallIds){
+    this.walls = walls;
+    int rows = tiles.rows();
+    cols = tiles.cols();
+    offsets = new int[rows*cols + 1];
+    wallIndices = new int[Math.max(16, walls.size()*4)];
+    int size = 0;
+
+    for (int row = 0; row < rows; row++){
+      for (int col = 0; col < cols; col++){
+        int i = row*cols + col;
+        offsets[i] = size;
+        int type = tiles.type(i);
+        if (type == 2){
+          if (size == wallIndices.length) wallIndices = Arrays.copyOf(wallIndices, size*2);
+          wallIndices[size++] = wallIds[i];
+        }
+        else if (type == 1){
+          int first = size;
+          for (int dir = 0; dir < 8; dir++){
+            int r = row;
+            int c = col;
+            switch (dir){
+              case 0: r++;
+              case 1: c--; break;
+              case 2: c--;
+              case 3: r--; break;
+              case 4: r--;
+              case 5: c++; break;
+              case 6: c++;
+              case 7: r++; break;
+            }
+            if (r < 0 || r >= rows || c < 0 || c >= cols) continue;
+            int id = wallIds[r*cols + c];
+            if (id < 0 || contains(first, size, id)) continue;
+            if (size == wallIndices.length) wallIndices = Arrays.copyOf(wallIndices, size*2);
+            wallIndices[size++] = id;
+          }
+        }
+      }
+    }
+    offsets[rows*cols] = size;
+    wallIndices = Arrays.copyOf(wallIndices, size);
+  }
+
+  private boolean contains(int from, int to, int id){
+    for (int k = from; k < to; k++) if (wallIndices[k] == id) return true;
+    return false;
+  }
+
+  /** Walls of a tile are wall(k) for start <= k < end: */
+  public int start(int row, int col){ return offsets[row*cols + col]; }
+  public int end(int row, int col){ return offsets[row*cols + col + 1]; }
+  public Wall wall(int k){ return walls.get(wallIndices[k]); }
+  /** Index of wall(k) in the level's walls: */
+  public int wallIndex(int k){ return wallIndices[k]; }
+
+  /** Total entries over all tiles: */
+  public int entries(){ return wallIndices.length; }
+}
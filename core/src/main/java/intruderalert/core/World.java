@@ -0,0 +1,359 @@
+package intruderalert.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static intruderalert.core.Maths.*;
+
+/**
+ * World describes one playthrough: the levels, the player, and all the level contents.
+ * update() advances everything by one tick. Nothing here draws anything, so a World can be
+ * simulated headless; a WorldListener is told about anything worth showing.
+ */
+public class World {
+
+  /** Constants: */
+  public static final float TILE_SIZE = 50; // 10 to see map
+  public static final float VIEW_W = 1500/1.5f, VIEW_H = 900/1.5f; // area on screen (the app's window at its usual zoom)
+
+  /** Fields: */
+  private long ticks; // ticks simulated so far
+  private boolean gameOver; // true when player dies
+  private boolean levelCompleted; // true when all enemies are killed
+  private boolean gameFinished; // true when finished all levels
+  private long levelStart; // tick that started level
+  private int gracePeriod = 60; // 1 second (in ticks) upon spawning
+
+  // Controls:
+  private HashMap<String, Boolean> controls = new HashMap<String, Boolean>();
+  private float aim; // direction the player is aiming
+
+  // Player:
+  private Player player;
+
+  // Enemies:
+  private ArrayList<Enemy> enemies = new ArrayList<Enemy>();
+  private ArrayList<Character> characters = new ArrayList<Character>(); // player + enemies
+  private CharacterGrid characterGrid; // characters by tile, for bullet collisions
+  private VisibilityField playerVisibility = new VisibilityField(); // cells that can see the player
+  private int sightRadius; // furthest any enemy can see (in sight grid cells)
+  private FlowField flowField; // paths to the player, shared by all enemies
+  private int chaseCost = 20*FlowField.STRAIGHT; // enemies further than this (20 tiles) don't chase
+  private AIScheduler scheduler = new AIScheduler(); // which enemies get to decide what to do each tick (on screen first)
+
+  // Bullets:
+  private BulletPool bullets = new BulletPool();
+
+  // Items:
+  private ArrayList<Item> items = new ArrayList<Item>();
+  private GunItem closestGun = null;
+  private float closestDist;
+
+  // Levels:
+  private LevelGenerator generator; // makes the next level in the background while this one is played
+  private Level[] levels; // levels reached so far, kept as they were left (null until reached)
+  private Level level;
+  private int numOfLevels = 10;
+
+  // Random streams (split from the run seed, see RandomStream):
+  private RandomStream combat; // shooting, enemy movement, and drops
+  private RandomStream cosmetic; // effects that don't change the game
+
+  // Listener:
+  private WorldListener listener;
+
+  public World(float hue){
+    this(hue, new WorldListener(){});
+  }
+
+  public World(float hue, WorldListener listener){
+    this(hue, listener, randomLong());
+  }
+
+  /** World whose levels and gameplay randomness all come from seed (the same seed always gives the same levels): */
+  public World(float hue, WorldListener listener, long seed){
+    this(hue, listener, seed, null);
+  }
+
+  /** Same as above, reading levels from (and saving them to) cache if it isn't null: */
+  public World(float hue, WorldListener listener, long seed, LevelCache cache){
+    this.listener = listener;
+
+    // Set up controls:
+    initialiseControls();
+
+    // Enemies on screen decide first (a fixed area, so the same with or without a window, at any zoom):
+    scheduler.setView(VIEW_W, VIEW_H);
+
+    // Create player:
+    float playerSize = TILE_SIZE/2.0f;
+    float playerMaxSpeed = 8;
+    player = new Player(playerSize, playerMaxSpeed, new Pistol(10, 10, 15), hue);
+
+    // Split the run seed into a stream for each part of the game:
+    RandomStream run = new RandomStream(seed);
+    long levelsSeed = run.nextLong();
+    combat = run.split();
+    cosmetic = run.split();
+
+    // Create the first level (each later one is generated while the one before it is played):
+    generator = new LevelGenerator(levelsSeed);
+    generator.setCache(cache);
+    levels = new Level[numOfLevels];
+    setLevel(0);
+  }
+
+  public void initialiseControls(){
+    controls.put("l", false);
+    controls.put("r", false);
+    controls.put("u", false);
+    controls.put("d", false);
+
+    controls.put("0", false);
+    controls.put("1", false);
+    controls.put("2", false);
+    controls.put("3", false);
+
+    controls.put("ml", false);
+    controls.put("mr", false);
+  }
+
+  /**
+   * Moves the player to level i, returns false if there is no such level.
+   * A level reached before is returned to as it was left. A new one is waited for if it isn't generated yet
+   * (see levelReady()), then the one after it starts generating:
+   */
+  public boolean setLevel(int i){
+    if (level != null) level.setPlayerPos(player.x(), player.y());
+    if (i < 0 || i >= numOfLevels) return false;
+    if (levels[i] == null) levels[i] = generator.take(i);
+    level = levels[i];
+    if (i+1 < numOfLevels && levels[i+1] == null) generator.prepare(i+1);
+    levelCompleted = false;
+    levelStart = ticks;
+    player.setPos(level.playerX(), level.playerY());
+    player.setSpeed(0, 0); // start level stationary
+    enemies = level.enemies();
+    characterGrid = new CharacterGrid(level.tiles().rows(), level.tiles().cols());
+    sortCharacters(); // so they can be found (and drawn) before the first update
+    flowField = new FlowField(level.tiles(), level.crates(), chaseCost);
+    sightRadius = 0;
+    for (Enemy e : enemies) sightRadius = Math.max(sightRadius, (int)Math.ceil((e.range()/2.0f)/level.sightGrid().cellSize()));
+    bullets.clear();
+    items.clear();
+    return true;
+  }
+
+  public long ticks(){ return ticks; }
+  public Player player(){ return player; }
+  public Level level(){ return level; }
+  public ArrayList<Enemy> enemies(){ return enemies; }
+  public BulletPool bullets(){ return bullets; }
+  public ArrayList<Item> items(){ return items; }
+  public AIScheduler scheduler(){ return scheduler; }
+  public FlowField flowField(){ return flowField; }
+  public CharacterGrid characterGrid(){ return characterGrid; }
+  public RandomStream combatRandom(){ return combat; }
+  public RandomStream cosmeticRandom(){ return cosmetic; }
+  public GunItem closestGun(){ return closestGun; }
+  public boolean gameOver(){ return gameOver; }
+  public boolean levelCompleted(){ return levelCompleted; }
+  public boolean gameFinished(){ return gameFinished; }
+  public int numOfLevels(){ return numOfLevels; }
+
+  /** Starts generating level i in the background, unless it has been reached before: */
+  public void prepareLevel(int i){
+    if (0 <= i && i < numOfLevels && levels[i] == null) generator.prepare(i);
+  }
+  /** True if setLevel(i) won't have to wait: */
+  public boolean levelReady(int i){
+    if (0 <= i && i < numOfLevels && levels[i] != null) return true;
+    return generator.ready(i);
+  }
+  /** How far level i has got being generated (0 to 1): */
+  public float levelProgress(int i){
+    if (0 <= i && i < numOfLevels && levels[i] != null) return 1;
+    return generator.progress(i);
+  }
+
+  public void setControl(String control, boolean on){ controls.put(control, on); }
+  public void setAim(float direction){ aim = direction; }
+
+  /** Drops the equipped gun and equips the closest gun on the ground: */
+  public void swapGun(){
+    if (closestGun == null) return;
+    // Drops gun:
+    float speed = 3;
+    float direction = combat.random(0, TWO_PI);
+    items.add(new GunItem(player.pos().copy(), new Vec2(speed*cos(direction), speed*sin(direction)), player.equippedGun()));
+    // Equips gun:
+    player.equipGun(closestGun.gun());
+    items.remove(closestGun);
+    closestGun = null;
+  }
+
+  /** Enemy e shoots at the player if it can and chooses where to move (called by the scheduler): */
+  void decide(Enemy e){
+    Vec2 ePos = e.pos();
+    Vec2 pPos = player.pos();
+    boolean seesPlayer = e.inLineOfSight(pPos, playerVisibility);
+    // The field is approximate, so an exact ray confirms the shot (only for enemies ready to fire):
+    if (seesPlayer && e.cooldownOver(ticks) && e.inLineOfSight(pPos, level.sightGrid())){
+      e.shoot(this, atan2(pPos.y - ePos.y, pPos.x - ePos.x));
+    }
+    e.chase(flowField, pPos, seesPlayer, combat);
+  }
+
+  /** Sorts all characters (player + enemies) into the grid: */
+  private void sortCharacters(){
+    characters.clear();
+    if (!gameOver) characters.add(player);
+    characters.addAll(enemies);
+    characterGrid.rebuild(characters);
+  }
+
+  /** Advances the world by one tick: */
+  public void update(){
+    // Player:
+    float direction = aim;
+    if (!gameOver){
+      player.controlPlayer(this, controls, direction);
+      player.updateCharacter(level.wallMap(), level.crateMap());
+      if (player.dead()){
+        listener.shake(2);
+        listener.killed(player);
+        gameOver = true;
+      }
+    }
+
+    // Enemies deciding whether to shoot and where to go (as many as the scheduler has time for):
+    boolean enemiesActive = !gameOver && (ticks > levelStart+gracePeriod);
+    if (enemiesActive){
+      playerVisibility.update(level.sightGrid(), player.x(), player.y(), sightRadius); // what can see the player
+      flowField.update(player.x(), player.y()); // only works paths out again if needed
+      scheduler.run(this, enemies, player.pos());
+    }
+
+    // Enemies:
+    for (int i = 0; i < enemies.size(); i++){
+      Enemy e = enemies.get(i);
+      if (e.dead()){
+        enemies.remove(e);
+        i--;
+        listener.killed(e);
+        listener.shake(1);
+        int healthOrbs = (int)combat.random(0, 4);
+        float speed = 10;
+        for (int h = 0; h < healthOrbs; h++){
+          direction = combat.random(0, TWO_PI);
+          items.add(new HealthOrb(e.pos().copy(), new Vec2(speed*cos(direction), speed*sin(direction)), (int)combat.random(1, 4)));
+        }
+        speed = 5;
+        direction = combat.random(0, TWO_PI);
+        items.add(new GunItem(e.pos().copy(), new Vec2(speed*cos(direction), speed*sin(direction)), e.equippedGun()));
+      }
+      // Update:
+      else {
+        if (enemiesActive) e.move();
+        e.updateCharacter(level.wallMap(), level.crateMap());
+      }
+    }
+
+    // Crates:
+    ArrayList<Crate> crates = level.crates();
+    for (int i = 0; i < crates.size(); i++){
+      Crate c = crates.get(i);
+      if (c.destroyed()){
+        if (c.explosive()){
+          listener.shake(2);
+          listener.explosion(new Explosion(Explosion.Kind.EXPLOSIVE, c.pos().copy(), TILE_SIZE*4, 50, player, enemies, crates));
+        }
+        else {
+          listener.shake(0.5f);
+          listener.explosion(new Explosion(Explosion.Kind.CRATE, c.pos().copy(), TILE_SIZE, 0));
+          int random = (int)combat.random(0, 3);
+          if (random == 0){ // drop health orb:
+            float speed = 5.0f;
+            direction = combat.random(0, TWO_PI);
+            items.add(new HealthOrb(c.pos().copy(), new Vec2(speed*cos(direction), speed*sin(direction)), (int)combat.random(1, 3)));
+          }
+        }
+        level.removeCrate(c); // moves the last crate into slot i, so i is checked again
+        flowField.removeCrate(c);
+        i--;
+      }
+    }
+
+    // Check if level completed:
+    if (enemies.isEmpty() && !levelCompleted){
+      levelCompleted = true;
+      if (level.num()+1 == numOfLevels) gameFinished = true; // finished all levels
+      listener.levelCompleted(level, gameFinished);
+    }
+
+    // Walls fading after being hit:
+    for (Wall w : level.walls()) w.updateWall();
+
+    sortCharacters();
+
+    // Bullets (removing bullet i moves the last bullet into slot i, so i is checked again):
+    for (int i = 0; i < bullets.size(); i++){
+      if (bullets.expired(i)){
+        bullets.remove(i);
+        i--;
+      }
+      else if (bullets.hitWall(i, level.wallMap()) && !bullets.bounces(i)){
+        listener.explosion(new Explosion(Explosion.Kind.BULLET, new Vec2(bullets.x(i), bullets.y(i)), TILE_SIZE*0.75f, bullets.hue(i)));
+        bullets.remove(i);
+        i--;
+      }
+      else if (bullets.hitCharacter(i, characterGrid)){
+        listener.explosion(new Explosion(Explosion.Kind.HIT, new Vec2(bullets.x(i), bullets.y(i)), TILE_SIZE, 0));
+        bullets.remove(i);
+        i--;
+        listener.shake(0.25f);
+      }
+      else {
+        if (bullets.hitCrate(i, level.crateMap()) && bullets.destroyed(i)){
+          listener.explosion(new Explosion(Explosion.Kind.BULLET, new Vec2(bullets.x(i), bullets.y(i)), TILE_SIZE*0.75f, bullets.hue(i)));
+          bullets.remove(i);
+          i--;
+          continue;
+        }
+        bullets.updateBullet(i);
+      }
+    }
+
+    // Items:
+    for (int i = 0; i < items.size(); i++){
+      Item item = items.get(i);
+      item.updateItem();
+      if (item.follows()){
+        item.follow(player.pos());
+        if (item.touchingCharacter(player)){
+          if (item instanceof HealthOrb && !player.atFullHealth()){
+            HealthOrb orb = (HealthOrb)item;
+            player.heal(orb.health());
+            items.remove(item);
+            i--;
+          }
+        }
+      }
+    }
+
+    // Get gun closest to player:
+    closestGun = null;
+    for (Item i : items){
+      if (i instanceof GunItem && i.inRange(player.pos())){
+        // Is in range to be picked up:
+        float dist = dist(player.pos().x, player.pos().y, i.pos().x, i.pos().y);
+        if (closestGun == null || dist <= closestDist){
+          closestGun = (GunItem)i;
+          closestDist = dist;
+        }
+      }
+    }
+
+    ticks++;
+  }
+}
@@ -0,0 +1,21 @@
+package intruderalert.core;
+
+/**
+ * WorldListener is told about things happening in a World that only matter to whoever is drawing it
+ * (explosions, deaths, screen-shake, finishing a level).
+ * Every method does nothing by default, so a headless world can simply ignore them.
+ */
+public interface WorldListener {
+
+  /** An explosion happened (any damage has already been applied): */
+  default void explosion(Explosion e){}
+
+  /** A character died (the player or an enemy): */
+  default void killed(Character c){}
+
+  /** Something shook the screen, amount is a multiple of the normal maximum shake: */
+  default void shake(float amount){}
+
+  /** All enemies in the level are dead: */
+  default void levelCompleted(Level level, boolean gameFinished){}
+}